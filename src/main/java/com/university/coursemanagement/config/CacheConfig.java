@@ -1,27 +1,114 @@
 package com.university.coursemanagement.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.concurrent.TimeUnit;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Application caches; each needs its Caffeine spec in app.cache.<name>.spec
+    public static final String COURSES = "courses";
+    public static final String COURSE_PAGES = "coursePages";
+    public static final String COURSE_ASSIGNMENTS = "courseAssignments";
+    public static final String STUDENTS = "students";
+    public static final String FORMULAS = "formulas";
+
+    private static final List<String> CACHE_NAMES = List.of(COURSES, COURSE_PAGES, COURSE_ASSIGNMENTS, STUDENTS, FORMULAS);
+
+    // Hibernate second-level cache regions, named in the @Cache annotations of the entities
+    public static final String COURSE_REGION = "course";
+    public static final String COURSE_ASSIGNMENTS_REGION = "course.assignments";
+    public static final String ASSIGNMENT_REGION = "assignment";
+    public static final String ASSIGNMENT_VARIANTS_REGION = "assignment.variants";
+    public static final String EXAM_VARIANT_REGION = "examVariant";
+    public static final String EXAM_VARIANT_TASKS_REGION = "examVariant.tasks";
+    public static final String EXAM_TASK_REGION = "examTask";
+
+    private static final String[] ENTITY_REGIONS = {
+            COURSE_REGION, COURSE_ASSIGNMENTS_REGION, ASSIGNMENT_REGION, ASSIGNMENT_VARIANTS_REGION,
+            EXAM_VARIANT_REGION, EXAM_VARIANT_TASKS_REGION, EXAM_TASK_REGION
+    };
+
+    /**
+     * One Caffeine cache per name, each with its own size and expiry from app.cache.<name>.spec;
+     * a cache without a spec fails startup. A spec with
+     * refreshAfterWrite needs a CacheRefresher bean for that cache, which reloads stale
+     * entries in the background while the old value keeps being served.
+     *
+     * Puts and evictions are deferred until the surrounding transaction commits, so a
+     * rolled-back write never reaches the cache.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("courses");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .recordStats());
-        return cacheManager;
+    public CacheManager cacheManager(Environment environment, ObjectProvider<CacheRefresher> refreshers) {
+        Map<String, CacheRefresher> loaders = refreshers.orderedStream()
+                .collect(Collectors.toMap(CacheRefresher::getCacheName, refresher -> refresher));
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        CACHE_NAMES.forEach(name -> {
+            String spec = environment.getRequiredProperty("app.cache." + name + ".spec");
+            Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+            if (spec.contains("refreshAfterWrite")) {
+                CacheRefresher loader = loaders.get(name);
+                if (loader == null) {
+                    throw new IllegalStateException("Cache " + name + " refreshes after write but has no CacheRefresher");
+                }
+                cacheManager.registerCustomCache(name, builder.build(loader));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        });
+        // Unknown names fail fast instead of silently getting an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
     }
-}
 
+    /**
+     * Caffeine-backed JCache manager holding the Hibernate second-level cache regions.
+     * Entries expire after ttl so that replicas, which each have their own cache, see
+     * each other's writes within that time.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager entityCacheManager(
+            @Value("${app.cache.entity.ttl:10m}") Duration ttl,
+            @Value("${app.cache.entity.maximum-size:10000}") long maximumSize) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own, so that several application contexts in one JVM do not share regions
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+                URI.create("entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
 
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(javax.cache.CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -0,0 +1,12 @@
+package com.university.coursemanagement.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * Loader of one application cache, for caches whose spec uses refreshAfterWrite.
+ * Keys are the ones the @Cacheable methods of that cache produce.
+ */
+public interface CacheRefresher extends CacheLoader<Object, Object> {
+
+    String getCacheName();
+}
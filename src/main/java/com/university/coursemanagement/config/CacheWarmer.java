@@ -0,0 +1,16 @@
+package com.university.coursemanagement.config;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Fills one application cache ahead of demand, for example after it was cleared during an incident.
+ */
+public interface CacheWarmer {
+
+    String getCacheName();
+
+    /**
+     * Puts up to limit entries into the cache and returns how many were put.
+     */
+    int warm(Cache cache, int limit);
+}
@@ -2,8 +2,12 @@ package com.university.coursemanagement.config;
 
 import com.university.coursemanagement.security.JwtAuthenticationFilter;
 import com.university.coursemanagement.security.JwtTokenProvider; // Додайте цей імпорт!
+import com.university.coursemanagement.security.TokenRevocationList;
 import com.university.coursemanagement.security.UserDetailsServiceImpl;
+import com.university.coursemanagement.security.UserRevocationList;
+import com.university.coursemanagement.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,6 +32,9 @@ public class SecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtTokenProvider jwtTokenProvider; // 1. Додано крапку з комою
+    private final UserRevocationList userRevocationList;
+    private final ObjectProvider<VerifiedTokenCache> verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -50,7 +57,8 @@ public class SecurityConfig {
     // Створюємо бін фільтра тут
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, verifiedTokenCache.getIfAvailable(), userRevocationList,
+                tokenRevocationList);
     }
 
     @Bean
@@ -59,7 +67,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .requestMatchers("/", "/api/auth/**", "/api/health", "/h2-console/**", "/actuator/health").permitAll()
+                        .requestMatchers("/", "/api/auth/**", "/api/health", "/h2-console/**", "/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
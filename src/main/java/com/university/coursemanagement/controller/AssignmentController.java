@@ -1,7 +1,10 @@
 package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.AssignmentDTO;
+import com.university.coursemanagement.dto.GradeStatsDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.service.AssignmentService;
+import com.university.coursemanagement.service.GradeStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +20,7 @@ import java.util.List;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
+    private final GradeStatsService gradeStatsService;
 
     @PostMapping("/courses/{courseId}/assignments")
     public ResponseEntity<AssignmentDTO> createAssignment(
@@ -28,9 +32,12 @@ public class AssignmentController {
     }
 
     @GetMapping("/courses/{courseId}/assignments")
-    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByCourse(@PathVariable("courseId") Long courseId) { // <-- Додано
-        List<AssignmentDTO> assignments = assignmentService.getAssignmentsByCourseId(courseId);
-        return ResponseEntity.ok(assignments);
+    public ResponseEntity<List<AssignmentDTO>> getAssignmentsByCourse(
+            @PathVariable("courseId") Long courseId,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<AssignmentDTO> assignments = assignmentService.getAssignmentsByCourseId(courseId, after, limit);
+        return KeysetLinks.body(ResponseEntity.ok(), assignments);
     }
 
     @GetMapping("/assignments/{id}")
@@ -39,6 +46,12 @@ public class AssignmentController {
         return ResponseEntity.ok(assignment);
     }
 
+    @GetMapping("/assignments/{id}/stats")
+    public ResponseEntity<GradeStatsDTO> getAssignmentStats(@PathVariable("id") Long id) {
+        GradeStatsDTO stats = gradeStatsService.getAssignmentStats(id);
+        return ResponseEntity.ok(stats);
+    }
+
     @PutMapping("/assignments/{id}")
     public ResponseEntity<AssignmentDTO> updateAssignment(
             @PathVariable("id") Long id,
@@ -2,12 +2,16 @@ package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.AuthDTO;
 import com.university.coursemanagement.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -22,10 +26,14 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthDTO.AuthResponse> login(@Valid @RequestBody AuthDTO.LoginRequest request) {
-        AuthDTO.AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthDTO.AuthResponse>> login(@Valid @RequestBody AuthDTO.LoginRequest request,
+                                                                         HttpServletRequest httpRequest) {
+        return authService.login(request, httpRequest.getRemoteAddr()).thenApply(ResponseEntity::ok);
     }
-}
-
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(authorization.startsWith("Bearer ") ? authorization.substring(7) : null);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.dto.CacheStatsDTO;
+import com.university.coursemanagement.service.CacheAdminService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final CacheAdminService cacheAdminService;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCaches() {
+        return ResponseEntity.ok(cacheAdminService.getStats());
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheStatsDTO> getCache(@PathVariable("name") String name) {
+        return ResponseEntity.ok(cacheAdminService.getStats(name));
+    }
+
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> clearCache(@PathVariable("name") String name) {
+        cacheAdminService.clear(name);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{name}/warm")
+    public ResponseEntity<Map<String, Integer>> warmCache(@PathVariable("name") String name) {
+        return ResponseEntity.ok(Map.of("entries", cacheAdminService.warm(name)));
+    }
+}
@@ -2,13 +2,22 @@ package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.CourseDTO;
 import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.dto.GradeStatsDTO;
+import com.university.coursemanagement.dto.GradeTotalDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.service.CourseService;
+import com.university.coursemanagement.service.CourseVersionService;
+import com.university.coursemanagement.service.GradeBookExportService;
 import com.university.coursemanagement.service.GradeService;
+import com.university.coursemanagement.service.GradeStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,6 +28,9 @@ public class CourseController {
 
     private final CourseService courseService;
     private final GradeService gradeService;
+    private final GradeBookExportService gradeBookExportService;
+    private final GradeStatsService gradeStatsService;
+    private final CourseVersionService courseVersionService;
 
     @PostMapping
     public ResponseEntity<CourseDTO> createCourse(@Valid @RequestBody CourseDTO dto) {
@@ -27,9 +39,16 @@ public class CourseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<CourseDTO> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<List<CourseDTO>> getAllCourses(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            WebRequest webRequest) {
+        String etag = courseVersionService.catalogEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        KeysetPage<CourseDTO> courses = courseService.getAllCourses(after, limit);
+        return KeysetLinks.body(ResponseEntity.ok().eTag(etag), courses);
     }
 
     @GetMapping("/{id}")
@@ -53,8 +72,47 @@ public class CourseController {
     }
 
     @GetMapping("/{id}/gradebook")
-    public ResponseEntity<GradeBookDTO> getGradeBook(@PathVariable("id") Long id) {
+    public ResponseEntity<GradeBookDTO> getGradeBook(@PathVariable("id") Long id, WebRequest webRequest) {
+        String etag = courseVersionService.courseEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         GradeBookDTO gradeBook = gradeService.getGradeBook(id);
-        return ResponseEntity.ok(gradeBook);
+        return ResponseEntity.ok().eTag(etag).body(gradeBook);
+    }
+
+    @GetMapping("/{id}/gradebook/totals")
+    public ResponseEntity<List<GradeTotalDTO>> getGradeTotals(@PathVariable("id") Long id, WebRequest webRequest) {
+        String etag = courseVersionService.courseEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<GradeTotalDTO> totals = gradeService.getGradeTotals(id);
+        return ResponseEntity.ok().eTag(etag).body(totals);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<GradeStatsDTO> getCourseStats(@PathVariable("id") Long id, WebRequest webRequest) {
+        String etag = courseVersionService.courseEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        GradeStatsDTO stats = gradeStatsService.getCourseStats(id);
+        return ResponseEntity.ok().eTag(etag).body(stats);
+    }
+
+    @GetMapping("/{id}/gradebook/export")
+    public ResponseEntity<StreamingResponseBody> exportGradeBook(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "format", defaultValue = "csv") String format) {
+        GradeBookExportService.Format exportFormat = GradeBookExportService.Format.from(format);
+        gradeBookExportService.checkCourseExists(id);
+
+        StreamingResponseBody body = outputStream -> gradeBookExportService.export(id, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"gradebook-" + id + "." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 }
\ No newline at end of file
@@ -2,24 +2,20 @@ package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.CreateCourseDto;
 import com.university.coursemanagement.dto.CourseFormulaDto;
+import com.university.coursemanagement.dto.JournalDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.entity.Course;
-import com.university.coursemanagement.entity.Enrollment;
-import com.university.coursemanagement.entity.Student;
-import com.university.coursemanagement.entity.Submission;
-import com.university.coursemanagement.repository.EnrollmentRepository;
-import com.university.coursemanagement.repository.StudentRepository;
-import com.university.coursemanagement.repository.SubmissionRepository;
+import com.university.coursemanagement.service.CourseVersionService;
 import com.university.coursemanagement.service.CoursesService;
+import com.university.coursemanagement.service.JournalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/courses")
@@ -27,9 +23,8 @@ import java.util.stream.Collectors;
 public class CoursesController {
 
     private final CoursesService coursesService;
-    private final EnrollmentRepository enrollmentRepository;
-    private final StudentRepository studentRepository;
-    private final SubmissionRepository submissionRepository;
+    private final JournalService journalService;
+    private final CourseVersionService courseVersionService;
 
     @PostMapping
     public ResponseEntity<Course> create(@Valid @RequestBody CreateCourseDto dto) {
@@ -38,43 +33,33 @@ public class CoursesController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Course>> findAll() {
-        List<Course> courses = coursesService.findAll();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<List<Course>> findAll(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            WebRequest webRequest) {
+        String etag = courseVersionService.catalogEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        KeysetPage<Course> courses = coursesService.findAll(after, limit);
+        return KeysetLinks.body(ResponseEntity.ok().eTag(etag), courses);
     }
 
     @GetMapping("/{id}/journal")
-    public ResponseEntity<Map<String, Object>> getJournal(@PathVariable("id") Long id) {
-        Course course = coursesService.findById(id);
-        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(id);
-        
-        List<Map<String, Object>> journal = enrollments.stream()
-                .map(enrollment -> {
-                    Student student = enrollment.getStudent();
-                    List<Submission> submissions = submissionRepository.findByStudentId(student.getId());
-                    
-                    // Filter submissions for this course
-                    List<Submission> courseSubmissions = submissions.stream()
-                            .filter(s -> s.getAssignment().getCourse().getId().equals(id))
-                            .collect(Collectors.toList());
-                    
-                    int totalPoints = courseSubmissions.stream()
-                            .mapToInt(Submission::getPoints)
-                            .sum();
-                    
-                    Map<String, Object> entry = new HashMap<>();
-                    entry.put("studentId", student.getId());
-                    entry.put("studentName", student.getName());
-                    entry.put("totalPoints", totalPoints);
-                    return entry;
-                })
-                .collect(Collectors.toList());
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("course", course);
-        response.put("journal", journal);
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<JournalDTO> getJournal(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", defaultValue = "100") int size,
+            WebRequest webRequest) {
+        // One tag covers every page: any change to the course invalidates all of them
+        String etag = courseVersionService.courseEtag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        JournalDTO journal = page != null
+                ? journalService.getJournal(id, page, size)
+                : journalService.getJournal(id);
+        return ResponseEntity.ok().eTag(etag).body(journal);
     }
 
     @PostMapping("/{id}/formula")
@@ -0,0 +1,34 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.dto.GradeBookCacheMetricsDTO;
+import com.university.coursemanagement.service.ColumnarGradeBookCache;
+import com.university.coursemanagement.service.GradeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/gradebooks")
+@RequiredArgsConstructor
+public class GradeBookAdminController {
+
+    private final GradeService gradeService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+
+    @PostMapping("/{courseId}/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildGradeBook(@PathVariable("courseId") Long courseId) {
+        return ResponseEntity.ok(Map.of("rows", gradeService.rebuildGradeBook(courseId)));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildAllGradeBooks() {
+        return ResponseEntity.ok(Map.of("rows", gradeService.rebuildAllGradeBooks()));
+    }
+
+    @GetMapping("/cache/metrics")
+    public ResponseEntity<GradeBookCacheMetricsDTO> getGradeBookCacheMetrics() {
+        return ResponseEntity.ok(columnarGradeBookCache.getMetrics());
+    }
+}
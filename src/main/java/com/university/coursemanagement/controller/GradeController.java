@@ -1,6 +1,7 @@
 package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.GradeDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.service.GradeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -44,9 +45,12 @@ public class GradeController {
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<GradeDTO>> getGradesByCourse(@PathVariable Long courseId) {
-        List<GradeDTO> grades = gradeService.getGradesByCourseId(courseId);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<List<GradeDTO>> getGradesByCourse(
+            @PathVariable Long courseId,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<GradeDTO> grades = gradeService.getGradesByCourseId(courseId, after, limit);
+        return KeysetLinks.body(ResponseEntity.ok(), grades);
     }
 }
 
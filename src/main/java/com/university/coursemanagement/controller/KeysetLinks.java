@@ -0,0 +1,30 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.dto.KeysetPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Writes a keyset page as a plain JSON array with an RFC 8288 Link header pointing at
+ * the next page, so existing list clients keep working.
+ */
+final class KeysetLinks {
+
+    private KeysetLinks() {
+    }
+
+    static <T> ResponseEntity<List<T>> body(ResponseEntity.BodyBuilder response, KeysetPage<T> page) {
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .replaceQueryParam("limit", page.getLimit())
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+}
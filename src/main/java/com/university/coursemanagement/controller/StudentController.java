@@ -1,6 +1,7 @@
 package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.GradeDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.dto.StudentDTO;
 import com.university.coursemanagement.service.GradeService;
 import com.university.coursemanagement.service.StudentService;
@@ -27,9 +28,11 @@ public class StudentController {
     }
 
     @GetMapping("/students")
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<List<StudentDTO>> getAllStudents(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<StudentDTO> students = studentService.getAllStudents(after, limit);
+        return KeysetLinks.body(ResponseEntity.ok(), students);
     }
 
     @GetMapping("/students/id/{id}")
@@ -76,8 +79,11 @@ public class StudentController {
     }
 
     @GetMapping("/students/{id}/grades")
-    public ResponseEntity<List<GradeDTO>> getStudentGrades(@PathVariable("id") Long id) {
-        List<GradeDTO> grades = gradeService.getGradesByStudentId(id);
-        return ResponseEntity.ok(grades);
+    public ResponseEntity<List<GradeDTO>> getStudentGrades(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        KeysetPage<GradeDTO> grades = gradeService.getGradesByStudentId(id, after, limit);
+        return KeysetLinks.body(ResponseEntity.ok(), grades);
     }
 }
\ No newline at end of file
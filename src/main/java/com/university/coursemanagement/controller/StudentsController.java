@@ -1,10 +1,7 @@
 package com.university.coursemanagement.controller;
 
 import com.university.coursemanagement.dto.EnrollStudentDto;
-import com.university.coursemanagement.entity.Enrollment;
 import com.university.coursemanagement.entity.Student;
-import com.university.coursemanagement.repository.CourseRepository;
-import com.university.coursemanagement.repository.EnrollmentRepository;
 import com.university.coursemanagement.service.StudentsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,8 +18,6 @@ import java.util.Map;
 public class StudentsController {
 
     private final StudentsService studentsService;
-    private final CourseRepository courseRepository;
-    private final EnrollmentRepository enrollmentRepository;
 
     @PostMapping("/enroll/{courseId}")
     public ResponseEntity<Map<String, Object>> enroll(
@@ -30,15 +25,7 @@ public class StudentsController {
             @Valid @RequestBody EnrollStudentDto dto) {
         
         Student student = studentsService.findOrCreateByEmail(dto.getEmail(), dto.getName());
-        
-        // Create enrollment if it doesn't exist
-        if (!enrollmentRepository.existsByCourseIdAndStudentId(courseId, student.getId())) {
-            Enrollment enrollment = Enrollment.builder()
-                    .course(courseRepository.findById(courseId).orElseThrow())
-                    .student(student)
-                    .build();
-            enrollmentRepository.save(enrollment);
-        }
+        studentsService.enroll(courseId, student);
         
         Map<String, Object> response = new HashMap<>();
         response.put("courseId", courseId);
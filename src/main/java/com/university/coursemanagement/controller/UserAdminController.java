@@ -0,0 +1,46 @@
+package com.university.coursemanagement.controller;
+
+import com.university.coursemanagement.dto.BulkRegistrationDTO;
+import com.university.coursemanagement.service.AuthService;
+import com.university.coursemanagement.service.UserProvisioningService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class UserAdminController {
+
+    private final AuthService authService;
+    private final UserProvisioningService userProvisioningService;
+
+    @PostMapping("/{username}/disable")
+    public ResponseEntity<Void> disableUser(@PathVariable("username") String username) {
+        authService.setEnabled(username, false);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{username}/enable")
+    public ResponseEntity<Void> enableUser(@PathVariable("username") String username) {
+        authService.setEnabled(username, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Creates users from a CSV (header: username,password,email[,role]) or JSON array body.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkRegistrationDTO> provisionUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                              InputStream body) throws IOException {
+        UserProvisioningService.Format format = MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? UserProvisioningService.Format.JSON
+                : UserProvisioningService.Format.CSV;
+        return ResponseEntity.ok(userProvisioningService.provision(body, format));
+    }
+}
@@ -0,0 +1,38 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationDTO {
+
+    private int created;
+    private int failed;
+
+    @Builder.Default
+    private List<RowResultDTO> results = new ArrayList<>();
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowResultDTO {
+        // 1-based position of the user in the input, not counting a CSV header
+        private int row;
+        private String username;
+        private Status status;
+        private String message;
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+
+    private String name;
+    private long estimatedSize;
+    private Long maximumSize;
+    private long requests;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long loads;
+    private long loadFailures;
+    private double averageLoadMillis;
+    private boolean warmable;
+}
@@ -0,0 +1,39 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeBookCacheMetricsDTO {
+
+    private boolean enabled;
+    private int cachedCourses;
+    private long estimatedBytes;
+    private long cells;
+    private long maxCells;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    @Builder.Default
+    private List<CourseEntryDTO> courses = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CourseEntryDTO {
+        private Long courseId;
+        private int students;
+        private int items;
+        private long estimatedBytes;
+    }
+}
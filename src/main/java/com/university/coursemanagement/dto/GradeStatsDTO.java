@@ -0,0 +1,61 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeStatsDTO {
+
+    // COURSE statistics are over student total points, ASSIGNMENT statistics over grade points
+    private Scope scope;
+    private Long id;
+    private String title;
+    private Integer maxPoints;
+
+    private long count;
+    private Double average;
+    private Double median;
+    private Double p10;
+    private Double p90;
+    private Integer min;
+    private Integer max;
+
+    @Builder.Default
+    private List<HistogramBucketDTO> histogram = new ArrayList<>();
+
+    // Only for courses
+    private Map<String, Long> letterGrades;
+
+    private long grades;
+    private long lateGrades;
+    private Double lateGradeRatio;
+    private long gradePenaltyPoints;
+
+    private long submissions;
+    private long lateSubmissions;
+    private Double lateSubmissionRatio;
+    private long penalizedSubmissions;
+
+    public enum Scope {
+        COURSE, ASSIGNMENT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HistogramBucketDTO {
+        private int from;
+        private int to;
+        private long count;
+    }
+}
@@ -0,0 +1,16 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeTotalDTO {
+    private Long studentId;
+    private Integer totalPoints;
+    private String finalGrade;
+}
@@ -0,0 +1,41 @@
+package com.university.coursemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalDTO {
+
+    private Long courseId;
+    private String courseName;
+    private String courseCode;
+
+    @Builder.Default
+    private List<JournalEntryDTO> journal = new ArrayList<>();
+
+    // Paging info, null when the whole journal was requested
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Integer totalPages;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class JournalEntryDTO {
+        private Long studentId;
+        private String studentName;
+        private String email;
+        private Long submissionCount;
+        private Long totalPoints;
+    }
+}
@@ -1,6 +1,8 @@
 package com.university.coursemanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,7 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "assignments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "assignment")
+@Table(name = "assignments",
+        indexes = {
+                @Index(name = "idx_assignments_course_id", columnList = "course_id, id"),
+                @Index(name = "idx_assignments_deadline", columnList = "deadline")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +54,7 @@ public class Assignment {
     @Builder.Default
     private Integer penaltyPerDay = 0;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "assignment.variants")
     @OneToMany(mappedBy = "assignment", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ExamVariant> variants = new ArrayList<>();
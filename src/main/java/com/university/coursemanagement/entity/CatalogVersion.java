@@ -0,0 +1,26 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Change counter of the course listing, a single row incremented in the transaction of every
+ * write that adds, removes or changes a course's own fields. The listing ETag is built from it.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogVersion {
+
+    public static final long CATALOG_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -1,12 +1,16 @@
 package com.university.coursemanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 @Table(name = "courses", uniqueConstraints = {
         @UniqueConstraint(columnNames = "code")
 })
@@ -34,6 +38,7 @@ public class Course {
     @Embedded
     private CourseFormula formula;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course.assignments")
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @ToString.Exclude
@@ -0,0 +1,33 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Change counter of one course, incremented in the transaction of every write that can change
+ * what the course's read endpoints return. ETags are built from it, so every node agrees on them.
+ */
+@Entity
+@Table(name = "course_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseVersion {
+
+    @Id
+    private Long courseId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Course course;
+
+    @Column(nullable = false)
+    private Long version;
+}
@@ -35,10 +35,6 @@ public class Exam {
     @Column(nullable = false)
     private LocalDateTime examDate;
 
-    @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL, orphanRemoval = true)
-    @Builder.Default
-    private List<ExamVariant> variants = new ArrayList<>();
-
     @OneToMany(mappedBy = "exam", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Grade> grades = new ArrayList<>();
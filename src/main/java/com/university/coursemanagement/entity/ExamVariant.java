@@ -1,6 +1,8 @@
 package com.university.coursemanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +12,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "examVariant")
 @Table(name = "exam_variants")
 @Data
 @NoArgsConstructor
@@ -28,6 +32,7 @@ public class ExamVariant {
     @Column(nullable = false)
     private Integer variantNumber;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "examVariant.tasks")
     @OneToMany(mappedBy = "examVariant", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<ExamTask> tasks = new ArrayList<>();
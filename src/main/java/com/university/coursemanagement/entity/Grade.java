@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades",
+        indexes = {
+                @Index(name = "idx_grades_student_id", columnList = "student_id, id"),
+                @Index(name = "idx_grades_assignment_id", columnList = "assignment_id, id"),
+                @Index(name = "idx_grades_exam_id", columnList = "exam_id, id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,22 @@
+package com.university.coursemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-assignment cell stored inside a GradeBookSummary row
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeBookCell {
+
+    private Long assignmentId;
+
+    private Integer points;
+
+    private Boolean isLate;
+
+    private Integer penaltyApplied;
+}
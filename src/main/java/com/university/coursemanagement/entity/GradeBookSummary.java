@@ -0,0 +1,78 @@
+package com.university.coursemanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized gradebook row for one enrolled student of a course. Maintained by
+ * GradeBookSummaryService on every grade and enrollment write.
+ */
+@Entity
+@Table(name = "gradebook_summaries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "student_id"}),
+        indexes = @Index(name = "idx_gradebook_summaries_course", columnList = "course_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeBookSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Student student;
+
+    @Column(nullable = false)
+    private String studentName;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer totalPoints = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer lateCount = 0;
+
+    @Column(nullable = false)
+    private String finalGrade;
+
+    private Long examId;
+
+    private Integer examPoints;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Builder.Default
+    private List<GradeBookCell> assignmentCells = new ArrayList<>();
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
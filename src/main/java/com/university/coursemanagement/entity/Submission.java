@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions",
+        indexes = @Index(name = "idx_submissions_penalty_run", columnList = "penalty_run_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,6 +42,10 @@ public class Submission {
     @Builder.Default
     private Boolean penaltyApplied = false;
 
+    // Id of the penalty run that penalized this row, so the run can find what it changed
+    @Column(name = "penalty_run_id", length = 36)
+    private String penaltyRunId;
+
     @PrePersist
     protected void onCreate() {
         if (submittedAt == null) {
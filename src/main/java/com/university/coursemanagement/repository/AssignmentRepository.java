@@ -1,14 +1,27 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.repository.projection.AssignmentDeadlineView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByCourseId(Long courseId);
+
+    // Deadlines still ahead, plus passed ones that have late submissions waiting for a penalty.
+    // "Waiting" matches SubmissionRepository.applyLatePenalty: a penalty per day above zero and
+    // at least one full day late, so an assignment drops out once the penalty job has run
+    @Query("SELECT a.id AS id, a.deadline AS deadline FROM Assignment a " +
+            "WHERE a.deadline IS NOT NULL AND (a.deadline > :now OR (a.penaltyPerDay > 0 AND EXISTS (" +
+            "SELECT s.id FROM Submission s WHERE s.assignment = a " +
+            "AND s.penaltyApplied = false AND s.submittedAt >= a.deadline + 1 day)))")
+    List<AssignmentDeadlineView> findPendingDeadlines(@Param("now") LocalDateTime now);
 }
 
 
@@ -0,0 +1,33 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.CatalogVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CatalogVersion v SET v.version = v.version + 1 WHERE v.id = " + CatalogVersion.CATALOG_ID)
+    int increment();
+
+    @Query("SELECT v.version FROM CatalogVersion v WHERE v.id = " + CatalogVersion.CATALOG_ID)
+    Optional<Long> findVersion();
+
+    // Plain INSERT so a row created concurrently by another node fails on the primary key
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalog_versions"))
+    @Query(value = "INSERT INTO catalog_versions (id, version) SELECT " + CatalogVersion.CATALOG_ID + ", 0 " +
+            "WHERE NOT EXISTS (SELECT 1 FROM catalog_versions WHERE id = " + CatalogVersion.CATALOG_ID + ")",
+            nativeQuery = true)
+    int createIfMissing();
+}
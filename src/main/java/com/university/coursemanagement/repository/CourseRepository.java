@@ -1,15 +1,23 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCode(String code);
     boolean existsByCode(String code);
+
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long after, Pageable limit);
+
+    @Query("SELECT c.id FROM Course c ORDER BY c.id")
+    List<Long> findAllIds();
 }
 
 
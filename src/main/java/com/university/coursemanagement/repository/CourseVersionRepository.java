@@ -0,0 +1,49 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.CourseVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface CourseVersionRepository extends JpaRepository<CourseVersion, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseVersion v SET v.version = v.version + 1 WHERE v.courseId = :courseId")
+    int increment(@Param("courseId") Long courseId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseVersion v SET v.version = v.version + 1 WHERE v.courseId IN " +
+            "(SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId)")
+    int incrementForStudent(@Param("studentId") Long studentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseVersion v SET v.version = v.version + 1")
+    int incrementAll();
+
+    @Query("SELECT v.version FROM CourseVersion v WHERE v.courseId = :courseId")
+    Optional<Long> findVersion(@Param("courseId") Long courseId);
+
+    // Plain INSERT so the row of a new course is created exactly once, never merged over
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_versions"))
+    @Query(value = "INSERT INTO course_versions (course_id, version) VALUES (:courseId, 0)", nativeQuery = true)
+    int create(@Param("courseId") Long courseId);
+
+    // Rows for courses created outside the application; a row inserted concurrently fails on the primary key
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_versions"))
+    @Query(value = "INSERT INTO course_versions (course_id, version) SELECT c.id, 0 FROM courses c " +
+            "WHERE NOT EXISTS (SELECT 1 FROM course_versions v WHERE v.course_id = c.id)",
+            nativeQuery = true)
+    int createMissing();
+}
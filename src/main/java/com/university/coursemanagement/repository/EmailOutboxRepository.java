@@ -0,0 +1,58 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT o.id FROM EmailOutbox o WHERE o.status IN :statuses AND o.nextAttemptAt <= :now " +
+            "ORDER BY o.nextAttemptAt, o.id")
+    List<Long> findDueIds(@Param("statuses") Collection<EmailOutbox.Status> statuses,
+                          @Param("now") LocalDateTime now,
+                          Pageable limit);
+
+    // Rows claimed concurrently by another dispatcher no longer match and are skipped.
+    // The attempt is counted when it starts, so one whose dispatcher dies mid-send counts too.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailOutbox o SET o.status = :sending, o.claimToken = :token, o.nextAttemptAt = :leaseUntil, " +
+            "o.attempts = o.attempts + 1 " +
+            "WHERE o.id IN :ids AND o.status IN :statuses AND o.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("statuses") Collection<EmailOutbox.Status> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("sending") EmailOutbox.Status sending,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("token") String token);
+
+    List<EmailOutbox> findByClaimTokenOrderById(String claimToken);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailOutbox o SET o.status = :failed, o.claimToken = null, o.lastError = :error " +
+            "WHERE o.status = :sending AND o.nextAttemptAt <= :now AND o.attempts >= :maxAttempts")
+    int failExpired(@Param("sending") EmailOutbox.Status sending,
+                    @Param("failed") EmailOutbox.Status failed,
+                    @Param("now") LocalDateTime now,
+                    @Param("maxAttempts") int maxAttempts,
+                    @Param("error") String error);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EmailOutbox o SET o.status = :sent, o.sentAt = :sentAt, o.claimToken = null, " +
+            "o.lastError = null " +
+            "WHERE o.id IN :ids AND o.claimToken = :token")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("token") String token,
+                 @Param("sent") EmailOutbox.Status sent,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatusIn(Collection<EmailOutbox.Status> statuses);
+}
@@ -1,15 +1,66 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Enrollment;
+import com.university.coursemanagement.repository.projection.EnrolledStudentView;
+import com.university.coursemanagement.repository.projection.ReminderRecipientView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByCourseId(Long courseId);
     List<Enrollment> findByStudentId(Long studentId);
     boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id = :studentId ORDER BY e.id")
+    List<Enrollment> lockEnrollment(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId ORDER BY e.id")
+    List<Enrollment> lockEnrollments(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email " +
+            "FROM Enrollment e JOIN e.student s WHERE e.course.id = :courseId ORDER BY e.id")
+    List<EnrolledStudentView> findEnrolledStudents(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.id AS id, s.name AS name, s.email AS email " +
+            "FROM Enrollment e JOIN e.student s WHERE e.course.id = :courseId AND s.id = :studentId")
+    Optional<EnrolledStudentView> findEnrolledStudent(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // Anti-join: enrolled students of each due assignment's course that have not submitted it.
+    // Reminder runs walk the candidate students in id order, one chunk at a time.
+    @Query("SELECT DISTINCT s.id FROM Assignment a JOIN Enrollment e ON e.course = a.course JOIN e.student s " +
+            "WHERE a.deadline > :from AND a.deadline < :to AND s.id > :after AND NOT EXISTS (" +
+            "SELECT sub.id FROM Submission sub WHERE sub.assignment = a AND sub.student = s) " +
+            "ORDER BY s.id")
+    List<Long> findReminderStudentIds(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("after") Long after,
+                                      Pageable limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a.id AS assignmentId, a.title AS assignmentTitle, a.deadline AS deadline, " +
+            "s.id AS studentId, s.name AS name, s.email AS email " +
+            "FROM Assignment a JOIN Enrollment e ON e.course = a.course JOIN e.student s " +
+            "WHERE a.deadline > :from AND a.deadline < :to AND s.id BETWEEN :firstStudentId AND :lastStudentId " +
+            "AND NOT EXISTS (SELECT sub.id FROM Submission sub WHERE sub.assignment = a AND sub.student = s) " +
+            "ORDER BY s.id, a.deadline, a.id")
+    List<ReminderRecipientView> findReminderRecipients(@Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("firstStudentId") Long firstStudentId,
+                                                       @Param("lastStudentId") Long lastStudentId);
 }
 
@@ -0,0 +1,45 @@
+package com.university.coursemanagement.repository;
+
+import com.university.coursemanagement.entity.GradeBookSummary;
+import com.university.coursemanagement.repository.projection.ScoreFrequencyView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface GradeBookSummaryRepository extends JpaRepository<GradeBookSummary, Long> {
+
+    @Query("SELECT s FROM GradeBookSummary s WHERE s.course.id = :courseId ORDER BY s.id")
+    List<GradeBookSummary> findByCourseId(@Param("courseId") Long courseId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM GradeBookSummary s WHERE s.course.id = :courseId ORDER BY s.id")
+    Stream<GradeBookSummary> streamByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s.totalPoints AS score, COUNT(s) AS frequency FROM GradeBookSummary s " +
+            "WHERE s.course.id = :courseId GROUP BY s.totalPoints")
+    List<ScoreFrequencyView> countTotalPointsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT s FROM GradeBookSummary s WHERE s.course.id = :courseId AND s.student.id = :studentId")
+    Optional<GradeBookSummary> findByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM GradeBookSummary s WHERE s.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE GradeBookSummary s SET s.studentName = :name, s.email = :email WHERE s.student.id = :studentId")
+    int updateStudentDetails(@Param("studentId") Long studentId, @Param("name") String name, @Param("email") String email);
+}
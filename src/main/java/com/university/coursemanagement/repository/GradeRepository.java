@@ -1,6 +1,10 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Grade;
+import com.university.coursemanagement.repository.projection.GradeBookEntryView;
+import com.university.coursemanagement.repository.projection.GradeLatenessView;
+import com.university.coursemanagement.repository.projection.ScoreFrequencyView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,11 +15,60 @@ import java.util.List;
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
     List<Grade> findByStudentId(Long studentId);
+
+    List<Grade> findByStudentIdAndIdGreaterThanOrderByIdAsc(Long studentId, Long after, Pageable limit);
     
     @Query("SELECT g FROM Grade g WHERE (g.assignment.course.id = :courseId OR g.exam.course.id = :courseId)")
     List<Grade> findByCourseId(@Param("courseId") Long courseId);
+
+    // Assignment and exam grades are read separately and merged by id: each query is a range
+    // scan per item on (assignment_id, id) or (exam_id, id), where an OR across both joins is not
+    @Query("SELECT g FROM Grade g JOIN g.assignment a WHERE a.course.id = :courseId AND g.id > :after ORDER BY g.id")
+    List<Grade> findAssignmentGradesByCourseIdAfter(@Param("courseId") Long courseId, @Param("after") Long after, Pageable limit);
+
+    @Query("SELECT g FROM Grade g JOIN g.exam e WHERE e.course.id = :courseId AND g.id > :after ORDER BY g.id")
+    List<Grade> findExamGradesByCourseIdAfter(@Param("courseId") Long courseId, @Param("after") Long after, Pageable limit);
     
     List<Grade> findByAssignmentId(Long assignmentId);
     List<Grade> findByExamId(Long examId);
-}
 
+    @Query("SELECT DISTINCT g.student.id FROM Grade g WHERE g.assignment.id = :assignmentId ORDER BY g.student.id")
+    List<Long> findStudentIdsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT DISTINCT g.student.id FROM Grade g WHERE g.exam.id = :examId ORDER BY g.student.id")
+    List<Long> findStudentIdsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT g.student.id AS studentId, a.id AS assignmentId, a.title AS assignmentTitle, " +
+            "a.maxPoints AS assignmentMaxPoints, e.id AS examId, e.title AS examTitle, e.maxPoints AS examMaxPoints, " +
+            "g.points AS points, g.isLate AS isLate, g.penaltyApplied AS penaltyApplied " +
+            "FROM Grade g LEFT JOIN g.assignment a LEFT JOIN g.exam e " +
+            "WHERE a.course.id = :courseId OR e.course.id = :courseId " +
+            "ORDER BY g.student.id, g.id")
+    List<GradeBookEntryView> findGradeBookEntries(@Param("courseId") Long courseId);
+
+    @Query("SELECT g.student.id AS studentId, a.id AS assignmentId, a.title AS assignmentTitle, " +
+            "a.maxPoints AS assignmentMaxPoints, e.id AS examId, e.title AS examTitle, e.maxPoints AS examMaxPoints, " +
+            "g.points AS points, g.isLate AS isLate, g.penaltyApplied AS penaltyApplied " +
+            "FROM Grade g LEFT JOIN g.assignment a LEFT JOIN g.exam e " +
+            "WHERE g.student.id = :studentId AND (a.course.id = :courseId OR e.course.id = :courseId) " +
+            "ORDER BY g.id")
+    List<GradeBookEntryView> findGradeBookEntriesForStudent(@Param("courseId") Long courseId,
+                                                            @Param("studentId") Long studentId);
+
+    @Query("SELECT g.points AS score, COUNT(g) AS frequency FROM Grade g " +
+            "WHERE g.assignment.id = :assignmentId GROUP BY g.points")
+    List<ScoreFrequencyView> countPointsByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT COUNT(g) AS gradeCount, " +
+            "COALESCE(SUM(CASE WHEN g.isLate = true THEN 1 ELSE 0 END), 0) AS lateCount, " +
+            "COALESCE(SUM(g.penaltyApplied), 0) AS penaltyPoints " +
+            "FROM Grade g WHERE g.assignment.id = :assignmentId")
+    GradeLatenessView summarizeLatenessByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT COUNT(g) AS gradeCount, " +
+            "COALESCE(SUM(CASE WHEN g.isLate = true THEN 1 ELSE 0 END), 0) AS lateCount, " +
+            "COALESCE(SUM(g.penaltyApplied), 0) AS penaltyPoints " +
+            "FROM Grade g LEFT JOIN g.assignment a LEFT JOIN g.exam e " +
+            "WHERE a.course.id = :courseId OR e.course.id = :courseId")
+    GradeLatenessView summarizeLatenessByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,15 +1,19 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long after, Pageable limit);
 }
 
 
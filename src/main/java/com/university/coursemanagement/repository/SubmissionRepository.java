@@ -1,9 +1,17 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.Submission;
+import com.university.coursemanagement.repository.projection.JournalEntryView;
+import com.university.coursemanagement.repository.projection.SubmissionLatenessView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,5 +19,49 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     List<Submission> findByStudentId(Long studentId);
     List<Submission> findByAssignmentId(Long assignmentId);
     List<Submission> findByStudentIdAndAssignmentId(Long studentId, Long assignmentId);
-}
 
+    /**
+     * Penalizes every unpenalized submission made at least one full day after the deadline:
+     * points drop by penaltyPerDay for each whole day late, never below zero. The
+     * penaltyApplied check in the WHERE clause makes concurrent or repeated runs claim each
+     * row once; the winner stamps its runId on the rows it changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Submission s SET s.penaltyApplied = true, s.penaltyRunId = :runId, " +
+            "s.points = cast(greatest(0, s.points - :penaltyPerDay * " +
+            "floor((extract(epoch from s.submittedAt) - :deadlineEpoch) / 86400)) as Integer) " +
+            "WHERE s.assignment.id = :assignmentId AND s.penaltyApplied = false " +
+            "AND s.submittedAt >= :firstPenalizedAt")
+    int applyLatePenalty(@Param("assignmentId") Long assignmentId,
+                         @Param("penaltyPerDay") long penaltyPerDay,
+                         @Param("deadlineEpoch") long deadlineEpoch,
+                         @Param("firstPenalizedAt") LocalDateTime firstPenalizedAt,
+                         @Param("runId") String runId);
+
+    @Query("SELECT s FROM Submission s JOIN FETCH s.student " +
+            "WHERE s.penaltyRunId = :runId AND s.id > :after ORDER BY s.id")
+    List<Submission> findByPenaltyRunIdAfter(@Param("runId") String runId, @Param("after") Long after, Pageable limit);
+
+    // Enrolled students are the driving table so students without submissions still get a row
+    @Query(value = "SELECT st.id AS studentId, st.name AS studentName, st.email AS email, " +
+            "COUNT(s.id) AS submissionCount, COALESCE(SUM(s.points), 0) AS totalPoints " +
+            "FROM Enrollment e JOIN e.student st " +
+            "LEFT JOIN Submission s ON s.student = st " +
+            "AND s.assignment IN (SELECT a FROM Assignment a WHERE a.course.id = :courseId) " +
+            "WHERE e.course.id = :courseId " +
+            "GROUP BY st.id, st.name, st.email ORDER BY st.id",
+            countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
+    Page<JournalEntryView> findJournalEntries(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query("SELECT COUNT(s) AS submissionCount, " +
+            "COALESCE(SUM(CASE WHEN s.submittedAt > a.deadline THEN 1 ELSE 0 END), 0) AS lateCount, " +
+            "COALESCE(SUM(CASE WHEN s.penaltyApplied = true THEN 1 ELSE 0 END), 0) AS penalizedCount " +
+            "FROM Submission s JOIN s.assignment a WHERE a.id = :assignmentId")
+    SubmissionLatenessView summarizeLatenessByAssignmentId(@Param("assignmentId") Long assignmentId);
+
+    @Query("SELECT COUNT(s) AS submissionCount, " +
+            "COALESCE(SUM(CASE WHEN s.submittedAt > a.deadline THEN 1 ELSE 0 END), 0) AS lateCount, " +
+            "COALESCE(SUM(CASE WHEN s.penaltyApplied = true THEN 1 ELSE 0 END), 0) AS penalizedCount " +
+            "FROM Submission s JOIN s.assignment a WHERE a.course.id = :courseId")
+    SubmissionLatenessView summarizeLatenessByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,9 +1,14 @@
 package com.university.coursemanagement.repository;
 
 import com.university.coursemanagement.entity.User;
+import com.university.coursemanagement.repository.projection.UserIdentityView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +17,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM User u WHERE u.enabled = false")
+    List<String> findDisabledUsernames();
+
+    @Query("SELECT u.username AS username, u.email AS email FROM User u " +
+            "WHERE u.username IN :usernames OR u.email IN :emails")
+    List<UserIdentityView> findTaken(@Param("usernames") Collection<String> usernames,
+                                     @Param("emails") Collection<String> emails);
 }
 
 
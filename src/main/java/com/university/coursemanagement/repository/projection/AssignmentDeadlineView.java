@@ -0,0 +1,8 @@
+package com.university.coursemanagement.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface AssignmentDeadlineView {
+    Long getId();
+    LocalDateTime getDeadline();
+}
@@ -0,0 +1,7 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface EnrolledStudentView {
+    Long getId();
+    String getName();
+    String getEmail();
+}
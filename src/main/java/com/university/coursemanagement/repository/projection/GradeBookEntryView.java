@@ -0,0 +1,15 @@
+package com.university.coursemanagement.repository.projection;
+
+// One grade row of a course gradebook; either the assignment or the exam columns are set
+public interface GradeBookEntryView {
+    Long getStudentId();
+    Long getAssignmentId();
+    String getAssignmentTitle();
+    Integer getAssignmentMaxPoints();
+    Long getExamId();
+    String getExamTitle();
+    Integer getExamMaxPoints();
+    Integer getPoints();
+    Boolean getIsLate();
+    Integer getPenaltyApplied();
+}
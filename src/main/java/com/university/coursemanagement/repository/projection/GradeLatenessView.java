@@ -0,0 +1,7 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface GradeLatenessView {
+    Long getGradeCount();
+    Long getLateCount();
+    Long getPenaltyPoints();
+}
@@ -0,0 +1,9 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface JournalEntryView {
+    Long getStudentId();
+    String getStudentName();
+    String getEmail();
+    Long getSubmissionCount();
+    Long getTotalPoints();
+}
@@ -0,0 +1,12 @@
+package com.university.coursemanagement.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ReminderRecipientView {
+    Long getAssignmentId();
+    String getAssignmentTitle();
+    LocalDateTime getDeadline();
+    Long getStudentId();
+    String getName();
+    String getEmail();
+}
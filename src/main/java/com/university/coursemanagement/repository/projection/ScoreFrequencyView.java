@@ -0,0 +1,6 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface ScoreFrequencyView {
+    Integer getScore();
+    Long getFrequency();
+}
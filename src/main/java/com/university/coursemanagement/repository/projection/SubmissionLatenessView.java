@@ -0,0 +1,7 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface SubmissionLatenessView {
+    Long getSubmissionCount();
+    Long getLateCount();
+    Long getPenalizedCount();
+}
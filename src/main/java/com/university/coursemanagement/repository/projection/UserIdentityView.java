@@ -0,0 +1,6 @@
+package com.university.coursemanagement.repository.projection;
+
+public interface UserIdentityView {
+    String getUsername();
+    String getEmail();
+}
@@ -1,46 +1,54 @@
 package com.university.coursemanagement.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
-
+/**
+ * Authenticates requests from the bearer token alone: the token is verified once and the
+ * principal is built from its subject and role claim, without loading the user. Disabled
+ * users and revoked tokens are turned away by the in-memory UserRevocationList and
+ * TokenRevocationList.
+ *
+ * With a VerifiedTokenCache, a token seen before is not verified again until it expires.
+ */
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final UserRevocationList revocationList;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+        String jwt = getJwtFromRequest(request);
+        if (StringUtils.hasText(jwt)) {
+            Claims claims = tokenCache != null ? tokenCache.verify(jwt) : tokenProvider.parseToken(jwt);
+            String username = claims != null ? claims.getSubject() : null;
+            String role = claims != null ? claims.get(JwtTokenProvider.ROLE_CLAIM, String.class) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username != null && role != null && !revocationList.isRevoked(username)
+                    && !tokenRevocationList.isRevoked(claims.getId())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
-        } catch (Exception ex) {
-            logger.error("Could not set user authentication in security context", ex);
         }
 
         filterChain.doFilter(request, response);
@@ -54,5 +62,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
-
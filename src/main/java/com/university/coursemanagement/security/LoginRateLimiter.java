@@ -0,0 +1,112 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for login attempts, one set keyed by username and one by client address.
+ *
+ * Buckets are striped: a key hashes to one of a fixed number of slots, so memory does not
+ * grow with the number of usernames or addresses an attacker tries. Keys that share a slot
+ * share its budget, which can only make the limit stricter. Each slot is a single long
+ * holding the time at which its bucket is full again (GCRA), updated with compare-and-set,
+ * so checking a login takes no lock.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Buckets userBuckets;
+    private final Buckets addressBuckets;
+    private final LongSupplier clock;
+    private final Counter userRejections;
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.security.login.user-burst:5}") int userBurst,
+                            @Value("${app.security.login.user-per-minute:10}") int userPerMinute,
+                            @Value("${app.security.login.address-burst:50}") int addressBurst,
+                            @Value("${app.security.login.address-per-minute:300}") int addressPerMinute,
+                            @Value("${app.security.login.stripes:4096}") int stripes) {
+        this(meterRegistry, userBurst, userPerMinute, addressBurst, addressPerMinute, stripes, System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, int userBurst, int userPerMinute, int addressBurst,
+                     int addressPerMinute, int stripes, LongSupplier nanoClock) {
+        this.userBuckets = new Buckets(stripes, userBurst, userPerMinute);
+        this.addressBuckets = new Buckets(stripes, addressBurst, addressPerMinute);
+        // Slots start at zero, which must lie in the past
+        long origin = nanoClock.getAsLong() - TimeUnit.DAYS.toNanos(1);
+        this.clock = () -> nanoClock.getAsLong() - origin;
+        this.userRejections = Counter.builder("auth.login.rejected").tag("reason", "username").register(meterRegistry);
+        this.addressRejections = Counter.builder("auth.login.rejected").tag("reason", "address").register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the bucket of the client address and one from the bucket of the
+     * username, or throws with the number of seconds until the empty bucket has one again.
+     */
+    public void acquire(String username, String address) {
+        long now = clock.getAsLong();
+        long wait = addressBuckets.tryAcquire(address, now);
+        if (wait > 0) {
+            addressRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts from this address", toSeconds(wait));
+        }
+        wait = userBuckets.tryAcquire(username, now);
+        if (wait > 0) {
+            userRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts for this user", toSeconds(wait));
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    static final class Buckets {
+
+        private final AtomicLongArray fullAt;
+        private final int mask;
+        private final long interval;
+        private final long tolerance;
+
+        Buckets(int stripes, int burst, int perMinute) {
+            int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+            this.fullAt = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.tolerance = interval * Math.max(1, burst);
+        }
+
+        /**
+         * Returns 0 when a token was taken, otherwise the nanoseconds until one is available.
+         */
+        long tryAcquire(String key, long now) {
+            int slot = spread(key != null ? key.hashCode() : 0) & mask;
+            while (true) {
+                long current = fullAt.get(slot);
+                long next = Math.max(current, now) + interval;
+                if (next - now > tolerance) {
+                    return next - now - tolerance;
+                }
+                if (fullAt.compareAndSet(slot, current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private static int spread(int hash) {
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password checks (BCrypt) on a small pool of its own instead of on request threads,
+ * so a burst of logins cannot take the threads every other API needs.
+ *
+ * The pool has a bounded queue. A login that finds the queue full is refused straight away
+ * with 429 and a Retry-After, rather than waiting behind work it would time out on anyway.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final long overloadRetryAfterSeconds;
+    private final Timer queueWait;
+    private final Counter overloadRejections;
+
+    public PasswordVerificationExecutor(AuthenticationManager authenticationManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.security.login.threads:0}") int threads,
+                                        @Value("${app.security.login.queue-capacity:64}") int queueCapacity,
+                                        @Value("${app.security.login.overload-retry-after:2s}") Duration overloadRetryAfter) {
+        this.authenticationManager = authenticationManager;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.overloadRetryAfterSeconds = Math.max(1, overloadRetryAfter.toSeconds());
+
+        Gauge.builder("auth.login.queued", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password check")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks running")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("auth.login.queue.wait")
+                .description("Time a login waits for a password check thread")
+                .register(meterRegistry);
+        this.overloadRejections = Counter.builder("auth.login.rejected").tag("reason", "overload").register(meterRegistry);
+    }
+
+    public CompletableFuture<Authentication> authenticate(String username, String password) {
+        long queued = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+                return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            overloadRejections.increment();
+            throw new TooManyRequestsException("Too many logins in progress, try again later", overloadRetryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.entity.RevokedToken;
+import com.university.coursemanagement.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory copy of the revoked_tokens store, checked for every authenticated request.
+ * A Bloom filter answers the common case, a token that was never revoked, with a few
+ * array reads; only a possible match is confirmed against the exact set of revoked jtis.
+ *
+ * The copy is refreshed incrementally with the rows revoked since the last refresh,
+ * re-reading a short overlap so rows committed late by other nodes are not missed.
+ * Expired rows are purged from time to time, and the Bloom filter, which cannot forget
+ * entries, is rebuilt from what remains.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedTokens;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private LocalDateTime refreshedUntil;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${app.security.token-revocation.expected-tokens:100000}") int expectedTokens) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.bloomFilter = new BloomFilter(expectedTokens);
+        refresh();
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Records a revocation on this node; other nodes pick it up on their next refresh.
+     */
+    public synchronized void add(String jti, LocalDateTime expiresAt) {
+        revoked.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> tokens = refreshedUntil == null
+                ? revokedTokenRepository.findByExpiresAtAfter(now)
+                : revokedTokenRepository.findRevokedSince(refreshedUntil.minus(REFRESH_OVERLAP), now);
+        tokens.forEach(token -> add(token.getJti(), token.getExpiresAt()));
+        refreshedUntil = now;
+        if (!tokens.isEmpty()) {
+            log.debug("Revocation list refreshed with {} tokens", tokens.size());
+        }
+    }
+
+    /**
+     * Deletes expired revocations from the store and rebuilds the in-memory copy from the rest.
+     */
+    public synchronized void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        log.info("Purged {} expired token revocations, {} still active", deleted, revoked.size());
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Bloom filter for about 1% false positives at the expected number of entries, using
+     * two string hashes combined into the probe sequence.
+     */
+    static final class BloomFilter {
+
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray bits;
+        private final int size;
+
+        BloomFilter(int expectedEntries) {
+            // m = -n ln(p) / ln(2)^2 with p = 0.01, about 9.6 bits per entry
+            long wanted = (long) Math.ceil(expectedEntries * 9.6);
+            this.bits = new AtomicLongArray((int) Math.max(1, (wanted + 63) / 64));
+            this.size = bits.length() * 64;
+        }
+
+        void put(String value) {
+            int h1 = value.hashCode();
+            int h2 = secondHash(value);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, size);
+                long mask = 1L << bit;
+                bits.accumulateAndGet(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(String value) {
+            int h1 = value.hashCode();
+            int h2 = secondHash(value);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a, kept odd so the probe step is never zero
+        private static int secondHash(String value) {
+            int hash = 0x811c9dc5;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x01000193;
+            }
+            return hash | 1;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Usernames whose tokens must be rejected even though they are still signed and unexpired,
+ * currently the disabled users. Requests are authenticated from the token alone, so this
+ * set is the only per-request check of the account and is kept in memory.
+ *
+ * It is loaded at startup, updated when a user is disabled or enabled on this node, and
+ * reloaded periodically to pick up changes made on other nodes.
+ */
+@Component
+@Slf4j
+public class UserRevocationList {
+
+    private final UserRepository userRepository;
+    private volatile Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+    public UserRevocationList(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        reload();
+    }
+
+    public boolean isRevoked(String username) {
+        return revoked.contains(username);
+    }
+
+    public void revoke(String username) {
+        revoked.add(username);
+    }
+
+    public void restore(String username) {
+        revoked.remove(username);
+    }
+
+    public void reload() {
+        Set<String> disabled = ConcurrentHashMap.newKeySet();
+        disabled.addAll(userRepository.findDisabledUsernames());
+        revoked = disabled;
+        log.debug("Revocation list reloaded with {} users", disabled.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.university.coursemanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims of recently verified tokens, so that a client sending the same token over and
+ * over pays for the signature check and claims parse only once. Entries are keyed by the
+ * SHA-256 of the token, so the tokens themselves are not kept, and each entry expires
+ * when its token does. Invalid tokens are never cached.
+ *
+ * Hit and miss counts are exported as cache.* meters tagged cache=verifiedTokens.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.token-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtTokenProvider tokenProvider;
+    private final Cache<ByteBuffer, Claims> cache;
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider, MeterRegistry meterRegistry,
+                              @Value("${app.security.token-cache.maximum-size:10000}") long maximumSize) {
+        this.tokenProvider = tokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    /**
+     * Returns the claims of a valid token, verifying it only if it is not cached yet, or
+     * null when the token is not valid.
+     */
+    public Claims verify(String token) {
+        return cache.get(digest(token), key -> tokenProvider.parseToken(token));
+    }
+
+    Cache<ByteBuffer, Claims> getCache() {
+        return cache;
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return 0;
+            }
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
 import com.university.coursemanagement.dto.AssignmentDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.entity.Assignment;
 import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.entity.CourseFormula;
 import com.university.coursemanagement.exception.InvalidGradingFormulaException;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.GradeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,8 +25,14 @@ import java.util.stream.Collectors;
 public class AssignmentService {
 
     private final AssignmentRepository assignmentRepository;
+    private final GradeRepository gradeRepository;
     private final CourseService courseService;
     private final GradingFormulaService formulaService;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
+    private final PenaltyDeadlineIndex penaltyDeadlineIndex;
+    private final CacheManager cacheManager;
 
     @Transactional
     public AssignmentDTO createAssignment(Long courseId, AssignmentDTO dto) {
@@ -61,14 +73,27 @@ public class AssignmentService {
                 .build();
 
         assignment = assignmentRepository.save(assignment);
+        columnarGradeBookCache.evict(courseId);
+        courseAssignments().evict(courseId);
+        courseVersionService.bump(courseId);
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
         return toDTO(assignment);
     }
 
+    /**
+     * Pages through the assignments of a course. A course has few assignments (the formula
+     * caps the labs), so the whole id-ordered list is cached per course and paged in memory.
+     */
     @Transactional(readOnly = true)
-    public List<AssignmentDTO> getAssignmentsByCourseId(Long courseId) {
-        return assignmentRepository.findByCourseId(courseId).stream()
-                .map(this::toDTO)
+    public KeysetPage<AssignmentDTO> getAssignmentsByCourseId(Long courseId, Long after, int limit) {
+        long from = Keyset.after(after);
+        int rows = Keyset.limit(limit).getPageSize();
+        List<AssignmentDTO> assignments = courseAssignments().get(courseId, () -> loadCourseAssignments(courseId));
+        List<AssignmentDTO> window = assignments.stream()
+                .filter(assignment -> assignment.getId() > from)
+                .limit(rows)
                 .collect(Collectors.toList());
+        return Keyset.page(window, limit, AssignmentDTO::getId, assignment -> assignment);
     }
 
     @Transactional(readOnly = true)
@@ -90,6 +115,10 @@ public class AssignmentService {
         assignment.setPenaltyPerDay(dto.getLatePenaltyPoints() != null ? dto.getLatePenaltyPoints() : 0);
 
         assignment = assignmentRepository.save(assignment);
+        columnarGradeBookCache.evict(assignment.getCourse().getId());
+        courseAssignments().evict(assignment.getCourse().getId());
+        courseVersionService.bump(assignment.getCourse().getId());
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
         return toDTO(assignment);
     }
 
@@ -99,6 +128,9 @@ public class AssignmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
         assignment.setDeadline(deadline);
         assignment = assignmentRepository.save(assignment);
+        courseAssignments().evict(assignment.getCourse().getId());
+        courseVersionService.bump(assignment.getCourse().getId());
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
         return toDTO(assignment);
     }
 
@@ -108,15 +140,26 @@ public class AssignmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
         assignment.setPenaltyPerDay(penaltyPoints);
         assignment = assignmentRepository.save(assignment);
+        courseAssignments().evict(assignment.getCourse().getId());
+        courseVersionService.bump(assignment.getCourse().getId());
+        // A penalty set after the deadline still applies to the late submissions already in
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
         return toDTO(assignment);
     }
 
     @Transactional
     public void deleteAssignment(Long id) {
-        if (!assignmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Assignment not found with id: " + id);
-        }
-        assignmentRepository.deleteById(id);
+        Assignment assignment = assignmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
+        Long courseId = assignment.getCourse().getId();
+        List<Long> gradedStudentIds = gradeRepository.findStudentIdsByAssignmentId(id);
+        assignmentRepository.delete(assignment);
+        penaltyDeadlineIndex.remove(id);
+        // Only students graded on the assignment have a cell and points from it in their row
+        gradeBookSummaryService.refresh(courseId, gradedStudentIds);
+        columnarGradeBookCache.evict(courseId);
+        courseAssignments().evict(courseId);
+        courseVersionService.bump(courseId);
     }
 
     @Transactional(readOnly = true)
@@ -125,6 +168,18 @@ public class AssignmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + id));
     }
 
+    private List<AssignmentDTO> loadCourseAssignments(Long courseId) {
+        return assignmentRepository.findByCourseId(courseId).stream()
+                .sorted(Comparator.comparing(Assignment::getId))
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Evictions through this cache are deferred until the transaction commits
+    private Cache courseAssignments() {
+        return cacheManager.getCache(CacheConfig.COURSE_ASSIGNMENTS);
+    }
+
     private AssignmentDTO toDTO(Assignment assignment) {
         return AssignmentDTO.builder()
                 .id(assignment.getId())
@@ -1,5 +1,6 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
 import com.university.coursemanagement.dto.CreateAssignmentDto;
 import com.university.coursemanagement.dto.CreateExamVariantDto;
 import com.university.coursemanagement.dto.CreateSubmissionDto;
@@ -8,6 +9,7 @@ import com.university.coursemanagement.entity.*;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,10 @@ public class AssignmentsService {
     private final StudentRepository studentRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final SubmissionRepository submissionRepository;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
+    private final PenaltyDeadlineIndex penaltyDeadlineIndex;
+    private final CacheManager cacheManager;
 
     @Transactional
     public Assignment create(Long courseId, CreateAssignmentDto dto) {
@@ -47,7 +53,12 @@ public class AssignmentsService {
                 .penaltyPerDay(dto.getPenaltyPerDay())
                 .build();
 
-        return assignmentRepository.save(assignment);
+        assignment = assignmentRepository.save(assignment);
+        columnarGradeBookCache.evict(courseId);
+        cacheManager.getCache(CacheConfig.COURSE_ASSIGNMENTS).evict(courseId);
+        courseVersionService.bump(courseId);
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
+        return assignment;
     }
 
     @Transactional
@@ -74,7 +85,12 @@ public class AssignmentsService {
         if (dto.getMaxPoints() != null) assignment.setMaxPoints(dto.getMaxPoints());
         if (dto.getPenaltyPerDay() != null) assignment.setPenaltyPerDay(dto.getPenaltyPerDay());
 
-        return assignmentRepository.save(assignment);
+        assignment = assignmentRepository.save(assignment);
+        columnarGradeBookCache.evict(assignment.getCourse().getId());
+        cacheManager.getCache(CacheConfig.COURSE_ASSIGNMENTS).evict(assignment.getCourse().getId());
+        courseVersionService.bump(assignment.getCourse().getId());
+        penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
+        return assignment;
     }
 
     @Transactional
@@ -119,6 +135,7 @@ public class AssignmentsService {
 
         examTaskRepository.saveAll(tasks);
         variant.setTasks(tasks);
+        courseVersionService.bump(assignment.getCourse().getId());
 
         return assignmentRepository.findById(assignmentId).orElse(assignment);
     }
@@ -136,13 +153,16 @@ public class AssignmentsService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Student is not enrolled in this course");
         }
 
-        // Calculate penalty if past deadline
+        // Calculate penalty if past deadline; the penalty job must not apply it a second time
         int points = assignment.getMaxPoints();
         LocalDateTime submissionDate = LocalDateTime.now();
+        boolean penaltyApplied = false;
         if (submissionDate.isAfter(assignment.getDeadline())) {
             long daysLate = java.time.Duration.between(assignment.getDeadline(), submissionDate).toDays();
-            int penalty = (int) (daysLate * assignment.getPenaltyPerDay());
+            int penaltyPerDay = assignment.getPenaltyPerDay() != null ? assignment.getPenaltyPerDay() : 0;
+            int penalty = (int) (daysLate * penaltyPerDay);
             points = Math.max(0, points - penalty);
+            penaltyApplied = penalty > 0;
         }
 
         Submission submission = Submission.builder()
@@ -151,10 +171,12 @@ public class AssignmentsService {
                 .content(dto.getContent())
                 .submittedAt(submissionDate)
                 .points(points)
-                .penaltyApplied(false)
+                .penaltyApplied(penaltyApplied)
                 .build();
 
-        return submissionRepository.save(submission);
+        submission = submissionRepository.save(submission);
+        courseVersionService.bump(assignment.getCourse().getId());
+        return submission;
     }
 
     private void validateAssignmentAgainstFormula(Long courseId, CreateAssignmentDto dto) {
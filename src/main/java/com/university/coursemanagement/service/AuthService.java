@@ -1,19 +1,27 @@
 package com.university.coursemanagement.service;
 
 import com.university.coursemanagement.dto.AuthDTO;
+import com.university.coursemanagement.entity.RevokedToken;
 import com.university.coursemanagement.entity.User;
 import com.university.coursemanagement.entity.UserRole;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.RevokedTokenRepository;
 import com.university.coursemanagement.repository.UserRepository;
 import com.university.coursemanagement.security.JwtTokenProvider;
+import com.university.coursemanagement.security.LoginRateLimiter;
+import com.university.coursemanagement.security.PasswordVerificationExecutor;
+import com.university.coursemanagement.security.TokenRevocationList;
+import com.university.coursemanagement.security.UserRevocationList;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -21,7 +29,11 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
-    private final AuthenticationManager authenticationManager;
+    private final UserRevocationList revocationList;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final LoginRateLimiter loginRateLimiter;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
 
     @Transactional
     public AuthDTO.AuthResponse register(AuthDTO.RegisterRequest request) {
@@ -54,24 +66,62 @@ public class AuthService {
                 .build();
     }
 
-    public AuthDTO.AuthResponse login(AuthDTO.LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    /**
+     * Checks the login against the per-address and per-username rate limits, then verifies
+     * the password on the password check pool. The returned future completes there, so the
+     * request thread is free while the hash is computed.
+     */
+    public CompletableFuture<AuthDTO.AuthResponse> login(AuthDTO.LoginRequest request, String clientAddress) {
+        loginRateLimiter.acquire(request.getUsername(), clientAddress);
+        return passwordVerificationExecutor.authenticate(request.getUsername(), request.getPassword())
+                .thenApply(authentication -> {
+                    // The authorities come from the user row the password was checked against
+                    String role = authentication.getAuthorities().iterator().next().getAuthority().substring("ROLE_".length());
+                    String token = tokenProvider.generateToken(authentication.getName(), role);
+                    return AuthDTO.AuthResponse.builder()
+                            .token(token)
+                            .username(authentication.getName())
+                            .role(role)
+                            .build();
+                });
+    }
 
-        String token = tokenProvider.generateToken(user.getUsername(), user.getRole().name());
+    /**
+     * Enables or disables a user. Tokens of a disabled user are rejected from the next
+     * request on, once the change commits.
+     */
+    @Transactional
+    public void setEnabled(String username, boolean enabled) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        user.setEnabled(enabled);
+        userRepository.save(user);
+        TransactionCallbacks.afterCommit(() -> {
+            if (enabled) {
+                revocationList.restore(username);
+            } else {
+                revocationList.revoke(username);
+            }
+        });
+    }
 
-        return AuthDTO.AuthResponse.builder()
-                .token(token)
-                .username(user.getUsername())
-                .role(user.getRole().name())
-                .build();
+    /**
+     * Revokes one token before its expiry. It is rejected on this node once the revocation
+     * commits and on the other nodes after their next revocation refresh.
+     */
+    @Transactional
+    public void logout(String token) {
+        Claims claims = token != null ? tokenProvider.parseToken(token) : null;
+        if (claims == null || claims.getId() == null) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.getId())
+                .username(claims.getSubject())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+        TransactionCallbacks.afterCommit(() -> tokenRevocationList.add(claims.getId(), expiresAt));
     }
 }
-
-
@@ -0,0 +1,95 @@
+package com.university.coursemanagement.service;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.coursemanagement.config.CacheWarmer;
+import com.university.coursemanagement.dto.CacheStatsDTO;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics and manual control of the application caches, for the admin endpoint.
+ * The same numbers are exported to Micrometer as cache.* meters tagged by cache name.
+ */
+@Service
+@Slf4j
+public class CacheAdminService {
+
+    private final CacheManager cacheManager;
+    private final Map<String, CacheWarmer> warmers;
+
+    public CacheAdminService(CacheManager cacheManager, List<CacheWarmer> warmers) {
+        this.cacheManager = cacheManager;
+        this.warmers = warmers.stream().collect(Collectors.toMap(CacheWarmer::getCacheName, Function.identity()));
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::getStats)
+                .collect(Collectors.toList());
+    }
+
+    public CacheStatsDTO getStats(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(name);
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .maximumSize(cache.policy().eviction().map(Policy.Eviction::getMaximum).orElse(null))
+                .requests(stats.requestCount())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .loads(stats.loadSuccessCount())
+                .loadFailures(stats.loadFailureCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .warmable(warmers.containsKey(name))
+                .build();
+    }
+
+    /**
+     * Drops every entry of the cache right away, even inside a transaction.
+     */
+    public void clear(String name) {
+        cache(name).invalidate();
+        log.info("Cache {} cleared", name);
+    }
+
+    /**
+     * Loads the cache up to its maximum size and returns the number of entries put.
+     */
+    public int warm(String name) {
+        Cache cache = cache(name);
+        CacheWarmer warmer = warmers.get(name);
+        if (warmer == null) {
+            throw new IllegalArgumentException("Cache " + name + " cannot be warmed");
+        }
+        long maximumSize = nativeCache(name).policy().eviction().map(Policy.Eviction::getMaximum).orElse(Long.MAX_VALUE);
+        int warmed = warmer.warm(cache, (int) Math.min(maximumSize, Integer.MAX_VALUE));
+        log.info("Cache {} warmed with {} entries", name, warmed);
+        return warmed;
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache not found: " + name);
+        }
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache(name).getNativeCache();
+    }
+}
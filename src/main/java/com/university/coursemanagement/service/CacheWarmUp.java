@@ -0,0 +1,43 @@
+package com.university.coursemanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Loads the configured caches at startup. Application runners finish before the app
+ * reports ready (/actuator/health/readiness), so the first requests after a deploy
+ * find the catalog cached instead of all missing at once.
+ *
+ * A cache that fails to warm is logged and left cold; it still fills on demand.
+ */
+@Component
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private final CacheAdminService cacheAdminService;
+    private final List<String> caches;
+
+    public CacheWarmUp(CacheAdminService cacheAdminService,
+                       @Value("${app.cache.warm-up.caches:}") List<String> caches) {
+        this.cacheAdminService = cacheAdminService;
+        this.caches = caches;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String cache : caches) {
+            long started = System.nanoTime();
+            try {
+                cacheAdminService.warm(cache);
+                log.info("Cache warm-up of {} took {} ms", cache, (System.nanoTime() - started) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.warn("Could not warm cache {}", cache, e);
+            }
+        }
+    }
+}
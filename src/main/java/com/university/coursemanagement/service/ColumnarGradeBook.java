@@ -0,0 +1,276 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.dto.GradeTotalDTO;
+import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.entity.Exam;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gradebook of one course held as primitive columns: a dense students x items points
+ * matrix, bitsets for graded and late cells, and dictionaries mapping student and
+ * item ids to row and column indexes. Assignment columns come first, then exams.
+ *
+ * A cell holds one grade per student and item; a repeated grade for the same item
+ * overwrites the earlier one in the cell, while the row total keeps counting both,
+ * the same way the gradebook row does.
+ */
+final class ColumnarGradeBook {
+
+    private final Long courseId;
+    private final String courseName;
+    private final String courseCode;
+
+    private final long[] studentIds;
+    private final String[] studentNames;
+    private final String[] emails;
+    private final Map<Long, Integer> studentRows;
+
+    private final int assignmentCount;
+    private final long[] itemIds;
+    private final String[] itemTitles;
+    private final int[] itemMaxPoints;
+    private final Map<Long, Integer> assignmentColumns;
+    private final Map<Long, Integer> examColumns;
+
+    private final int[] points;
+    private final int[] penalties;
+    private final BitSet graded;
+    private final BitSet late;
+    private final int[] totals;
+    // Course version (see CourseVersionService) the content is known to be current for
+    private volatile long version;
+
+    ColumnarGradeBook(GradeBookDTO gradeBook, List<Assignment> assignments, List<Exam> exams, long version) {
+        this.version = version;
+        this.courseId = gradeBook.getCourseId();
+        this.courseName = gradeBook.getCourseName();
+        this.courseCode = gradeBook.getCourseCode();
+
+        int rows = gradeBook.getStudentGrades().size();
+        this.studentIds = new long[rows];
+        this.studentNames = new String[rows];
+        this.emails = new String[rows];
+        this.studentRows = new HashMap<>(rows * 2);
+
+        this.assignmentCount = assignments.size();
+        int columns = assignments.size() + exams.size();
+        this.itemIds = new long[columns];
+        this.itemTitles = new String[columns];
+        this.itemMaxPoints = new int[columns];
+        this.assignmentColumns = new HashMap<>(assignments.size() * 2);
+        this.examColumns = new HashMap<>(exams.size() * 2);
+        for (int c = 0; c < assignments.size(); c++) {
+            Assignment assignment = assignments.get(c);
+            setColumn(c, assignment.getId(), assignment.getTitle(), assignment.getMaxPoints());
+            assignmentColumns.put(assignment.getId(), c);
+        }
+        for (int e = 0; e < exams.size(); e++) {
+            Exam exam = exams.get(e);
+            setColumn(assignmentCount + e, exam.getId(), exam.getTitle(), exam.getMaxPoints());
+            examColumns.put(exam.getId(), assignmentCount + e);
+        }
+
+        this.points = new int[rows * columns];
+        this.penalties = new int[rows * columns];
+        this.graded = new BitSet(rows * columns);
+        this.late = new BitSet(rows * columns);
+        this.totals = new int[rows];
+
+        for (int r = 0; r < rows; r++) {
+            GradeBookDTO.StudentGradeDTO row = gradeBook.getStudentGrades().get(r);
+            studentIds[r] = row.getStudentId();
+            studentRows.put(row.getStudentId(), r);
+            if (!writeRow(r, row)) {
+                throw new IllegalStateException("Gradebook row of student " + row.getStudentId()
+                        + " references an item outside course " + courseId);
+            }
+        }
+    }
+
+    Long getCourseId() {
+        return courseId;
+    }
+
+    int getStudentCount() {
+        return studentIds.length;
+    }
+
+    int getItemCount() {
+        return itemIds.length;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replaces the row of one student, written at the given course version. Returns false
+     * when the row or one of its items is not part of this gradebook, or when a write between
+     * this gradebook's version and the given one was not applied here, in which case the
+     * caller should reload it.
+     */
+    synchronized boolean updateRow(GradeBookDTO.StudentGradeDTO row, long version) {
+        Integer r = studentRows.get(row.getStudentId());
+        if (version != this.version + 1 || r == null || !writeRow(r, row)) {
+            return false;
+        }
+        this.version = version;
+        return true;
+    }
+
+    synchronized GradeBookDTO toGradeBook() {
+        List<GradeBookDTO.StudentGradeDTO> rows = new ArrayList<>(studentIds.length);
+        for (int r = 0; r < studentIds.length; r++) {
+            rows.add(toStudentGrade(r));
+        }
+        return GradeBookDTO.builder()
+                .courseId(courseId)
+                .courseName(courseName)
+                .courseCode(courseCode)
+                .studentGrades(rows)
+                .build();
+    }
+
+    synchronized List<GradeTotalDTO> toTotals() {
+        List<GradeTotalDTO> result = new ArrayList<>(studentIds.length);
+        for (int r = 0; r < studentIds.length; r++) {
+            result.add(GradeTotalDTO.builder()
+                    .studentId(studentIds[r])
+                    .totalPoints(totals[r])
+                    .finalGrade(GradeBookAssembler.letterGrade(totals[r]))
+                    .build());
+        }
+        return result;
+    }
+
+    synchronized int[] copyTotals() {
+        return totals.clone();
+    }
+
+    /**
+     * Rough heap footprint of the arrays, bitsets, dictionaries and strings held here.
+     */
+    synchronized long estimateBytes() {
+        int rows = studentIds.length;
+        int columns = itemIds.length;
+        long bytes = 0;
+        bytes += 16 + 8L * rows;                       // studentIds
+        bytes += 2 * (16 + 4L * rows);                 // name and email references
+        bytes += 16 + 4L * rows;                       // totals
+        bytes += 16 + 8L * columns;                    // itemIds
+        bytes += 16 + 4L * columns;                    // itemMaxPoints
+        bytes += 16 + 4L * columns;                    // title references
+        bytes += 2 * (16 + 4L * rows * columns);       // points and penalties
+        bytes += 2 * (16 + graded.size() / 8);         // graded and late bitsets
+        bytes += 48L * (rows + columns);               // dictionary entries with boxed keys
+        for (int r = 0; r < rows; r++) {
+            bytes += stringBytes(studentNames[r]) + stringBytes(emails[r]);
+        }
+        for (int c = 0; c < columns; c++) {
+            bytes += stringBytes(itemTitles[c]);
+        }
+        return bytes;
+    }
+
+    private void setColumn(int c, Long id, String title, Integer maxPoints) {
+        itemIds[c] = id;
+        itemTitles[c] = title;
+        itemMaxPoints[c] = maxPoints != null ? maxPoints : 0;
+    }
+
+    private boolean writeRow(int r, GradeBookDTO.StudentGradeDTO row) {
+        int columns = itemIds.length;
+        int from = r * columns;
+
+        // Resolve every column first so a failed update leaves the row untouched
+        int[] assignmentCells = new int[row.getAssignmentGrades().size()];
+        for (int i = 0; i < assignmentCells.length; i++) {
+            Integer c = assignmentColumns.get(row.getAssignmentGrades().get(i).getAssignmentId());
+            if (c == null) {
+                return false;
+            }
+            assignmentCells[i] = c;
+        }
+        Integer examColumn = null;
+        if (row.getExamGrade() != null) {
+            examColumn = examColumns.get(row.getExamGrade().getExamId());
+            if (examColumn == null) {
+                return false;
+            }
+        }
+
+        graded.clear(from, from + columns);
+        late.clear(from, from + columns);
+        for (int i = 0; i < assignmentCells.length; i++) {
+            GradeBookDTO.AssignmentGradeDTO grade = row.getAssignmentGrades().get(i);
+            int cell = from + assignmentCells[i];
+            points[cell] = grade.getPoints() != null ? grade.getPoints() : 0;
+            penalties[cell] = grade.getPenaltyApplied() != null ? grade.getPenaltyApplied() : 0;
+            graded.set(cell);
+            late.set(cell, Boolean.TRUE.equals(grade.getIsLate()));
+        }
+        if (examColumn != null) {
+            int cell = from + examColumn;
+            points[cell] = row.getExamGrade().getPoints() != null ? row.getExamGrade().getPoints() : 0;
+            penalties[cell] = 0;
+            graded.set(cell);
+        }
+
+        studentNames[r] = row.getStudentName();
+        emails[r] = row.getEmail();
+        totals[r] = row.getTotalPoints() != null ? row.getTotalPoints() : 0;
+        return true;
+    }
+
+    private GradeBookDTO.StudentGradeDTO toStudentGrade(int r) {
+        int columns = itemIds.length;
+        int from = r * columns;
+
+        List<GradeBookDTO.AssignmentGradeDTO> assignmentGrades = new ArrayList<>();
+        for (int c = graded.nextSetBit(from); c >= 0 && c < from + assignmentCount; c = graded.nextSetBit(c + 1)) {
+            int column = c - from;
+            assignmentGrades.add(GradeBookDTO.AssignmentGradeDTO.builder()
+                    .assignmentId(itemIds[column])
+                    .assignmentTitle(itemTitles[column])
+                    .maxPoints(itemMaxPoints[column])
+                    .points(points[c])
+                    .isLate(late.get(c))
+                    .penaltyApplied(penalties[c])
+                    .build());
+        }
+
+        // The gradebook row carries a single exam grade
+        GradeBookDTO.ExamGradeDTO examGrade = null;
+        int examCell = graded.previousSetBit(from + columns - 1);
+        if (examCell >= from + assignmentCount) {
+            int column = examCell - from;
+            examGrade = GradeBookDTO.ExamGradeDTO.builder()
+                    .examId(itemIds[column])
+                    .examTitle(itemTitles[column])
+                    .maxPoints(itemMaxPoints[column])
+                    .points(points[examCell])
+                    .build();
+        }
+
+        return GradeBookDTO.StudentGradeDTO.builder()
+                .studentId(studentIds[r])
+                .studentName(studentNames[r])
+                .studentIdNumber(null) // studentId no longer exists
+                .email(emails[r])
+                .assignmentGrades(assignmentGrades)
+                .examGrade(examGrade)
+                .totalPoints(totals[r])
+                .finalGrade(GradeBookAssembler.letterGrade(totals[r]))
+                .build();
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? 40 + 2L * value.length() : 0;
+    }
+}
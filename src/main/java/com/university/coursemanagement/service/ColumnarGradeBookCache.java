@@ -0,0 +1,229 @@
+package com.university.coursemanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.coursemanagement.dto.GradeBookCacheMetricsDTO;
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.dto.GradeTotalDTO;
+import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.Exam;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.CourseVersionRepository;
+import com.university.coursemanagement.repository.ExamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional per-course cache of gradebooks in columnar form (see ColumnarGradeBook).
+ * Once a course is loaded, gradebook and totals reads are answered from primitive arrays
+ * without opening a Hibernate session.
+ *
+ * Grade writes replace the affected student's row after their transaction commits.
+ * Structural changes (enrollments, assignments, exams, course or student details) evict
+ * the course so it is reloaded from the materialized gradebook on the next read.
+ *
+ * Every cached gradebook carries the course version it is current for. Writes made on other
+ * nodes never reach this cache directly; instead, a course version read for an ETag is
+ * reported through observeVersion, and an older gradebook is reloaded on its next read.
+ *
+ * The cache is bounded by the number of cells (students times items) it holds; the least
+ * recently used courses are dropped first once max-cells is exceeded.
+ */
+@Service
+@Slf4j
+public class ColumnarGradeBookCache {
+
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final CourseRepository courseRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamRepository examRepository;
+    private final CourseVersionRepository courseVersionRepository;
+    private final boolean enabled;
+    private final long maxCells;
+
+    private final Cache<Long, ColumnarGradeBook> gradeBooks;
+    // Highest version of each recently read course seen in the database
+    private final Cache<Long, Long> observedVersions;
+    // Bumped on every write so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ColumnarGradeBookCache(GradeBookSummaryService gradeBookSummaryService,
+                                  CourseRepository courseRepository,
+                                  AssignmentRepository assignmentRepository,
+                                  ExamRepository examRepository,
+                                  CourseVersionRepository courseVersionRepository,
+                                  @Value("${app.gradebook.columnar-cache.enabled:false}") boolean enabled,
+                                  @Value("${app.gradebook.columnar-cache.max-cells:5000000}") long maxCells,
+                                  @Value("${app.gradebook.columnar-cache.max-observed-courses:10000}") long maxObservedCourses) {
+        this.gradeBookSummaryService = gradeBookSummaryService;
+        this.courseRepository = courseRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.examRepository = examRepository;
+        this.courseVersionRepository = courseVersionRepository;
+        this.enabled = enabled;
+        this.maxCells = maxCells;
+        this.gradeBooks = Caffeine.newBuilder()
+                .maximumWeight(maxCells)
+                .weigher((Long courseId, ColumnarGradeBook gradeBook) -> cells(gradeBook))
+                .evictionListener((courseId, gradeBook, cause) -> evictions.increment())
+                .build();
+        this.observedVersions = Caffeine.newBuilder()
+                .maximumSize(maxObservedCourses)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public GradeBookDTO getGradeBook(Long courseId) {
+        return getOrLoad(courseId).toGradeBook();
+    }
+
+    public List<GradeTotalDTO> getTotals(Long courseId) {
+        return getOrLoad(courseId).toTotals();
+    }
+
+    /**
+     * Returns a copy of the per-student totals, in gradebook row order.
+     */
+    public int[] getTotalPoints(Long courseId) {
+        return getOrLoad(courseId).copyTotals();
+    }
+
+    /**
+     * Applies the new row of a student after commit. version is the course version the write
+     * bumped the course to; a cached gradebook that missed an earlier write is evicted instead.
+     */
+    public void updateRow(Long courseId, Long studentId, Optional<GradeBookDTO.StudentGradeDTO> row, long version) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            ColumnarGradeBook gradeBook = gradeBooks.getIfPresent(courseId);
+            if (gradeBook == null) {
+                return;
+            }
+            // A student that left the course or a grade for an unknown item changes the shape
+            if (row.isEmpty() || !gradeBook.updateRow(row.get(), version)) {
+                log.debug("Evicting columnar gradebook of course {} after update of student {}", courseId, studentId);
+                remove(courseId);
+            }
+        });
+    }
+
+    /**
+     * Records a version of the course read from the database. Cached gradebooks of an older
+     * version are no longer served.
+     */
+    public void observeVersion(Long courseId, long version) {
+        if (enabled) {
+            observedVersions.asMap().merge(courseId, version, Math::max);
+        }
+    }
+
+    public void evict(Long courseId) {
+        if (enabled) {
+            TransactionCallbacks.afterCommit(() -> {
+                generation.incrementAndGet();
+                remove(courseId);
+            });
+        }
+    }
+
+    public void evictAll() {
+        if (enabled) {
+            TransactionCallbacks.afterCommit(() -> {
+                generation.incrementAndGet();
+                evictions.add(gradeBooks.estimatedSize());
+                gradeBooks.invalidateAll();
+            });
+        }
+    }
+
+    public GradeBookCacheMetricsDTO getMetrics() {
+        List<GradeBookCacheMetricsDTO.CourseEntryDTO> courses = new ArrayList<>();
+        long totalBytes = 0;
+        long totalCells = 0;
+        for (ColumnarGradeBook gradeBook : gradeBooks.asMap().values()) {
+            long bytes = gradeBook.estimateBytes();
+            totalBytes += bytes;
+            totalCells += cells(gradeBook);
+            courses.add(GradeBookCacheMetricsDTO.CourseEntryDTO.builder()
+                    .courseId(gradeBook.getCourseId())
+                    .students(gradeBook.getStudentCount())
+                    .items(gradeBook.getItemCount())
+                    .estimatedBytes(bytes)
+                    .build());
+        }
+        courses.sort(Comparator.comparing(GradeBookCacheMetricsDTO.CourseEntryDTO::getCourseId));
+
+        return GradeBookCacheMetricsDTO.builder()
+                .enabled(enabled)
+                .cachedCourses(courses.size())
+                .estimatedBytes(totalBytes)
+                .cells(totalCells)
+                .maxCells(maxCells)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .courses(courses)
+                .build();
+    }
+
+    private ColumnarGradeBook getOrLoad(Long courseId) {
+        Long observed = observedVersions.getIfPresent(courseId);
+        ColumnarGradeBook gradeBook = gradeBooks.getIfPresent(courseId);
+        if (gradeBook != null && (observed == null || gradeBook.getVersion() >= observed)) {
+            hits.increment();
+            return gradeBook;
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        // The version is read first, so the gradebook loaded next is at least that current
+        long version = courseVersionRepository.findVersion(courseId).orElse(0L);
+        ColumnarGradeBook loaded = load(courseId, version);
+        if (generation.get() == loadedAt) {
+            return gradeBooks.asMap().merge(courseId, loaded,
+                    (cached, fresh) -> cached.getVersion() >= fresh.getVersion() ? cached : fresh);
+        }
+        return loaded;
+    }
+
+    private ColumnarGradeBook load(Long courseId, long version) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        List<Assignment> assignments = new ArrayList<>(assignmentRepository.findByCourseId(courseId));
+        assignments.sort(Comparator.comparing(Assignment::getId));
+        List<Exam> exams = new ArrayList<>(examRepository.findByCourseId(courseId));
+        exams.sort(Comparator.comparing(Exam::getId));
+        return new ColumnarGradeBook(gradeBookSummaryService.getGradeBook(course), assignments, exams, version);
+    }
+
+    private void remove(Long courseId) {
+        if (gradeBooks.asMap().remove(courseId) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static int cells(ColumnarGradeBook gradeBook) {
+        // A row without items still holds the student's name, e-mail and total
+        return gradeBook.getStudentCount() * Math.max(1, gradeBook.getItemCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.config.CacheRefresher;
+import com.university.coursemanagement.config.CacheWarmer;
+import com.university.coursemanagement.dto.CourseDTO;
+import com.university.coursemanagement.dto.KeysetPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loader of the course listing cache. Caffeine calls it on a miss and, once a page is older
+ * than refreshAfterWrite, in the background on the next read while the old page is still
+ * served. Warming walks the catalog from the start with the default page size of the
+ * listing endpoints.
+ */
+@Component
+public class CoursePageRefresher implements CacheRefresher, CacheWarmer {
+
+    static final int CATALOG_PAGE_SIZE = 100;
+
+    private final CourseService courseService;
+    private final CourseVersionService courseVersionService;
+    private final int catalogPages;
+
+    public CoursePageRefresher(CourseService courseService,
+                               CourseVersionService courseVersionService,
+                               @Value("${app.cache.warm-up.catalog-pages:5}") int catalogPages) {
+        this.courseService = courseService;
+        this.courseVersionService = courseVersionService;
+        this.catalogPages = catalogPages;
+    }
+
+    /**
+     * Key of a page, the same one CourseService.getAllCourses caches it under.
+     */
+    static String key(Long after, int limit) {
+        return "page:" + after + ":" + limit;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CacheConfig.COURSE_PAGES;
+    }
+
+    @Override
+    public Object load(Object key) {
+        String[] parts = key.toString().split(":");
+        Long after = "null".equals(parts[1]) ? null : Long.valueOf(parts[1]);
+        return courseService.loadCoursePage(after, Integer.parseInt(parts[2]));
+    }
+
+    @Override
+    public int warm(Cache cache, int limit) {
+        // Read the catalog version first, so the first listing request does not drop the warmed pages as stale
+        courseVersionService.catalogEtag();
+        int warmed = 0;
+        Long after = null;
+        do {
+            KeysetPage<CourseDTO> page = courseService.loadCoursePage(after, CATALOG_PAGE_SIZE);
+            cache.put(key(after, CATALOG_PAGE_SIZE), page);
+            warmed++;
+            after = page.getNextCursor();
+        } while (after != null && warmed < Math.min(limit, catalogPages));
+        return warmed;
+    }
+}
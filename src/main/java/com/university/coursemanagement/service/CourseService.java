@@ -1,26 +1,36 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.config.CacheWarmer;
 import com.university.coursemanagement.dto.CourseDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.exception.DuplicateCourseException;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class CourseService {
+public class CourseService implements CacheWarmer {
 
     private final CourseRepository courseRepository;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
 
-    @CacheEvict(value = "courses", allEntries = true)
+    @Caching(
+            put = @CachePut(value = CacheConfig.COURSES, key = "#result.id"),
+            evict = @CacheEvict(value = CacheConfig.COURSE_PAGES, allEntries = true))
     @Transactional
     public CourseDTO createCourse(CourseDTO dto) {
         if (courseRepository.existsByCode(dto.getCode())) {
@@ -34,11 +44,12 @@ public class CourseService {
                 .build();
 
         course = courseRepository.save(course);
+        courseVersionService.create(course.getId());
         return toDTO(course);
     }
 
 
-    @Cacheable(value = "courses")
+    @Cacheable(value = CacheConfig.COURSES, key = "#id")
     @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
         Course course = courseRepository.findById(id)
@@ -46,15 +57,26 @@ public class CourseService {
         return toDTO(course);
     }
 
-    @Cacheable(value = "courses", key = "'all'")
+    /**
+     * Cached course listing. Pages are reloaded in the background by CoursePageRefresher
+     * shortly before they expire, so readers keep getting the current page meanwhile.
+     */
+    @Cacheable(value = CacheConfig.COURSE_PAGES, key = "'page:' + #after + ':' + #limit")
     @Transactional(readOnly = true)
-    public List<CourseDTO> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<CourseDTO> getAllCourses(Long after, int limit) {
+        return loadCoursePage(after, limit);
     }
 
-    @CacheEvict(value = "courses", allEntries = true)
+    @Transactional(readOnly = true)
+    public KeysetPage<CourseDTO> loadCoursePage(Long after, int limit) {
+        List<Course> courses = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                Keyset.after(after), Keyset.limit(limit));
+        return Keyset.page(courses, limit, Course::getId, this::toDTO);
+    }
+
+    @Caching(
+            put = @CachePut(value = CacheConfig.COURSES, key = "#id"),
+            evict = @CacheEvict(value = CacheConfig.COURSE_PAGES, allEntries = true))
     @Transactional
     public CourseDTO updateCourse(Long id, CourseDTO dto) {
         Course course = courseRepository.findById(id)
@@ -69,16 +91,24 @@ public class CourseService {
         course.setDescription(dto.getDescription());
 
         course = courseRepository.save(course);
+        columnarGradeBookCache.evict(id);
+        courseVersionService.bump(id);
+        courseVersionService.bumpCatalog();
         return toDTO(course);
     }
 
-    @CacheEvict(value = "courses", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(value = CacheConfig.COURSE_ASSIGNMENTS, key = "#id"),
+            @CacheEvict(value = CacheConfig.COURSE_PAGES, allEntries = true)})
     @Transactional
     public void deleteCourse(Long id) {
         if (!courseRepository.existsById(id)) {
             throw new ResourceNotFoundException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        columnarGradeBookCache.evict(id);
+        courseVersionService.bumpCatalog();
     }
 
     @Transactional(readOnly = true)
@@ -87,6 +117,31 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
     }
 
+    @Override
+    public String getCacheName() {
+        return CacheConfig.COURSES;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int warm(Cache cache, int limit) {
+        int warmed = 0;
+        long after = 0;
+        while (warmed < limit) {
+            List<Course> chunk = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                    after, PageRequest.of(0, Math.min(Keyset.MAX_LIMIT, limit - warmed)));
+            for (Course row : chunk) {
+                cache.put(row.getId(), toDTO(row));
+                after = row.getId();
+            }
+            warmed += chunk.size();
+            if (chunk.isEmpty()) {
+                break;
+            }
+        }
+        return warmed;
+    }
+
     private CourseDTO toDTO(Course course) {
         return CourseDTO.builder()
                 .id(course.getId())
@@ -0,0 +1,141 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.repository.CatalogVersionRepository;
+import com.university.coursemanagement.repository.CourseVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Change versions for conditional GETs. Every write that can change a course's gradebook,
+ * journal or listing entry bumps that course's version in its own transaction; readers turn
+ * the stored version into a strong ETag and answer If-None-Match with 304 before doing any work.
+ *
+ * Versions live in the course_versions table, so a node answers 304 only for content that
+ * is current in the database, whichever node made the last write. A course gets its row in
+ * the transaction that creates it, so bumping is a plain UPDATE; rows of courses created
+ * outside the application are added at startup. The course listing has a single counter
+ * of its own in catalog_versions, bumped only by writes to a course's own fields.
+ *
+ * Reading a version also tells the node-local caches behind these endpoints (the course
+ * listing pages and the columnar gradebooks) that anything older is stale, so a write made
+ * on another node is never served under the new tag.
+ */
+@Slf4j
+@Service
+public class CourseVersionService {
+
+    private final CourseVersionRepository courseVersionRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    // Lazy: the cache manager's refreshers depend on services that bump versions
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+
+    private final AtomicReference<String> lastCatalogEtag = new AtomicReference<>();
+
+    public CourseVersionService(CourseVersionRepository courseVersionRepository,
+                                CatalogVersionRepository catalogVersionRepository,
+                                ObjectProvider<CacheManager> cacheManager,
+                                ColumnarGradeBookCache columnarGradeBookCache) {
+        this.courseVersionRepository = courseVersionRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.cacheManager = cacheManager;
+        this.columnarGradeBookCache = columnarGradeBookCache;
+    }
+
+    /**
+     * Creates the rows that writes increment: the catalog counter and the version of every
+     * course that has none yet. Another node starting at the same time may insert some of
+     * them first; its rows are as good as ours.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingVersions() {
+        try {
+            catalogVersionRepository.createIfMissing();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Catalog version created by another node");
+        }
+        try {
+            int created = courseVersionRepository.createMissing();
+            if (created > 0) {
+                log.info("Created versions of {} courses", created);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Course versions created by another node");
+        }
+    }
+
+    /**
+     * Creates the version row of a course inserted in the current transaction, and bumps the listing.
+     */
+    @Transactional
+    public void create(Long courseId) {
+        courseVersionRepository.create(courseId);
+        catalogVersionRepository.increment();
+    }
+
+    /**
+     * Bumps the version of a course in the current transaction. Returns the new version, or 0
+     * when the course no longer exists.
+     */
+    @Transactional
+    public long bump(Long courseId) {
+        if (courseVersionRepository.increment(courseId) == 0) {
+            return 0;
+        }
+        return courseVersionRepository.findVersion(courseId).orElse(0L);
+    }
+
+    /**
+     * Bumps the course listing, for writes to a course's own fields and for removed courses.
+     */
+    @Transactional
+    public void bumpCatalog() {
+        catalogVersionRepository.increment();
+    }
+
+    /**
+     * Bumps every course the student is enrolled in, for changes to the student's name or e-mail.
+     */
+    @Transactional
+    public void bumpStudentCourses(Long studentId) {
+        courseVersionRepository.incrementForStudent(studentId);
+    }
+
+    @Transactional
+    public void bumpAll() {
+        courseVersionRepository.incrementAll();
+    }
+
+    public String courseEtag(Long courseId) {
+        long version = courseVersionRepository.findVersion(courseId).orElse(0L);
+        columnarGradeBookCache.observeVersion(courseId, version);
+        return etag("c" + courseId + "." + version);
+    }
+
+    public String catalogEtag() {
+        String etag = etag("all." + catalogVersionRepository.findVersion().orElse(0L));
+        String previous = lastCatalogEtag.getAndSet(etag);
+        if (!etag.equals(previous)) {
+            // The listing changed since this node last looked, possibly through another node
+            Cache pages = cacheManager.getObject().getCache(CacheConfig.COURSE_PAGES);
+            if (pages != null) {
+                pages.invalidate();
+            }
+        }
+        return etag;
+    }
+
+    private static String etag(String version) {
+        return "\"" + version + "\"";
+    }
+}
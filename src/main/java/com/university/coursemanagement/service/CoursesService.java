@@ -1,12 +1,15 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
 import com.university.coursemanagement.dto.CreateCourseDto;
 import com.university.coursemanagement.dto.CourseFormulaDto;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.entity.CourseFormula;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +20,9 @@ import java.util.List;
 public class CoursesService {
 
     private final CourseRepository courseRepository;
+    private final CourseVersionService courseVersionService;
 
+    @CacheEvict(value = CacheConfig.COURSE_PAGES, allEntries = true)
     @Transactional
     public Course create(CreateCourseDto dto) {
         if (courseRepository.existsByCode(dto.getCode())) {
@@ -29,13 +34,17 @@ public class CoursesService {
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .build();
-        
-        return courseRepository.save(course);
+
+        course = courseRepository.save(course);
+        courseVersionService.create(course.getId());
+        return course;
     }
 
     @Transactional(readOnly = true)
-    public List<Course> findAll() {
-        return courseRepository.findAll();
+    public KeysetPage<Course> findAll(Long after, int limit) {
+        List<Course> courses = courseRepository.findByIdGreaterThanOrderByIdAsc(
+                Keyset.after(after), Keyset.limit(limit));
+        return Keyset.page(courses, limit, Course::getId, course -> course);
     }
 
     @Transactional(readOnly = true)
@@ -53,7 +62,10 @@ public class CoursesService {
                 .examPoints(dto.getExamPoints())
                 .build();
         course.setFormula(formula);
-        return courseRepository.save(course);
+        course = courseRepository.save(course);
+        courseVersionService.bump(courseId);
+        courseVersionService.bumpCatalog();
+        return course;
     }
 }
 
@@ -1,21 +1,18 @@
 package com.university.coursemanagement.service;
 
-import com.university.coursemanagement.entity.Assignment;
-import com.university.coursemanagement.entity.Enrollment;
-import com.university.coursemanagement.entity.Student;
-import com.university.coursemanagement.entity.Submission;
-import com.university.coursemanagement.repository.AssignmentRepository;
 import com.university.coursemanagement.repository.EnrollmentRepository;
-import com.university.coursemanagement.repository.SubmissionRepository;
+import com.university.coursemanagement.repository.projection.ReminderRecipientView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,98 +20,75 @@ import java.util.List;
 @Slf4j
 public class DeadlineSchedulerService {
 
-    private final AssignmentRepository assignmentRepository;
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final EnrollmentRepository enrollmentRepository;
-    private final SubmissionRepository submissionRepository;
-    
+    private final TransactionTemplate transactionTemplate;
+
     @Autowired(required = false)
     private EmailService emailService;
 
-    @Scheduled(cron = "0 0 9 * * *") // Every day at 9 AM
-    @Transactional
+    @Value("${app.scheduling.deadline-reminders.chunk-size:500}")
+    private int chunkSize = 500;
+
     public void checkDeadlinesAndSendReminders() {
         log.info("Starting deadline check and reminder sending...");
-        
+
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tomorrow = now.plusDays(1);
+        int sent = sendReminders(now, now.plusDays(1));
 
-        List<Assignment> assignments = assignmentRepository.findAll();
+        log.info("Deadline check completed, {} reminder digests sent", sent);
+    }
 
-        for (Assignment assignment : assignments) {
-            LocalDateTime deadline = assignment.getDeadline();
-            if (deadline == null) continue;
+    /**
+     * Sends every enrolled student without a submission one digest of the assignments due in
+     * (from, to) and returns the number of digests.
+     *
+     * Candidate students are walked in id order, chunkSize at a time, with a keyset cursor
+     * that survives between transactions. Each chunk loads its recipients and queues its
+     * digests in its own short transaction, so heap use and lock time do not grow with the
+     * number of students.
+     */
+    public int sendReminders(LocalDateTime from, LocalDateTime to) {
+        if (emailService == null) {
+            return 0;
+        }
 
-            // Send reminder if deadline is tomorrow
-            if (deadline.isAfter(now) && deadline.isBefore(tomorrow)) {
-                sendRemindersForAssignment(assignment);
+        int sent = 0;
+        Long after = 0L;
+        while (true) {
+            List<Long> students = enrollmentRepository.findReminderStudentIds(from, to, after, PageRequest.of(0, chunkSize));
+            if (students.isEmpty()) {
+                return sent;
             }
-
-            // Apply penalties for late submissions
-            if (deadline.isBefore(now)) {
-                applyLatePenalties(assignment);
+            Long first = students.get(0);
+            Long last = students.get(students.size() - 1);
+            sent += transactionTemplate.execute(status -> sendDigests(from, to, first, last));
+            if (students.size() < chunkSize) {
+                return sent;
             }
+            after = last;
         }
-
-        log.info("Deadline check completed");
     }
 
-    private void sendRemindersForAssignment(Assignment assignment) {
-        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(assignment.getCourse().getId());
-        
-        for (Enrollment enrollment : enrollments) {
-            Student student = enrollment.getStudent();
-            // Check if student already submitted
-            boolean hasSubmission = submissionRepository.findByStudentIdAndAssignmentId(
-                    student.getId(), assignment.getId()).stream()
-                    .findAny()
-                    .isPresent();
-
-            if (!hasSubmission && emailService != null) {
-                String deadlineStr = assignment.getDeadline()
-                        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-                
-                emailService.sendDeadlineReminder(
-                        student.getEmail(),
-                        student.getName(),
-                        assignment.getTitle(),
-                        deadlineStr
-                );
+    private int sendDigests(LocalDateTime from, LocalDateTime to, Long firstStudentId, Long lastStudentId) {
+        int sent = 0;
+        ReminderRecipientView student = null;
+        List<EmailService.DeadlineItem> deadlines = new ArrayList<>();
+        for (ReminderRecipientView recipient : enrollmentRepository.findReminderRecipients(from, to, firstStudentId, lastStudentId)) {
+            if (student != null && !student.getStudentId().equals(recipient.getStudentId())) {
+                emailService.sendDeadlineDigest(student.getEmail(), student.getName(), deadlines);
+                deadlines = new ArrayList<>();
+                sent++;
             }
+            student = recipient;
+            deadlines.add(new EmailService.DeadlineItem(
+                    recipient.getAssignmentTitle(), recipient.getDeadline().format(DEADLINE_FORMAT)));
         }
-    }
-
-    private void applyLatePenalties(Assignment assignment) {
-        if (assignment.getPenaltyPerDay() == null || assignment.getPenaltyPerDay() == 0) {
-            return;
-        }
-
-        List<Submission> submissions = submissionRepository.findByAssignmentId(assignment.getId());
-
-        for (Submission submission : submissions) {
-            if (!submission.getPenaltyApplied() && submission.getSubmittedAt().isAfter(assignment.getDeadline())) {
-                long daysLate = java.time.Duration.between(assignment.getDeadline(), submission.getSubmittedAt()).toDays();
-                if (daysLate > 0) {
-                    int penalty = (int) (daysLate * assignment.getPenaltyPerDay());
-                    submission.setPenaltyApplied(true);
-                    int newPoints = Math.max(0, submission.getPoints() - penalty);
-                    submission.setPoints(newPoints);
-
-                    submissionRepository.save(submission);
-
-                    // Send notification
-                    if (emailService != null) {
-                        Student student = submission.getStudent();
-                        emailService.sendLateSubmissionNotification(
-                                student.getEmail(),
-                                student.getName(),
-                                assignment.getTitle(),
-                                penalty
-                        );
-                    }
-                }
-            }
+        if (student != null) {
+            emailService.sendDeadlineDigest(student.getEmail(), student.getName(), deadlines);
+            sent++;
         }
+        return sent;
     }
 }
-
-
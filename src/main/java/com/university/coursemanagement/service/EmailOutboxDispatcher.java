@@ -0,0 +1,169 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.EmailOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the e-mail outbox outside of any business transaction. Each batch goes out
+ * through a single JavaMailSender.send(MimeMessage...) call, which opens one SMTP
+ * connection for the whole batch instead of one per message.
+ */
+@Service
+@ConditionalOnBean(JavaMailSender.class)
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.mail.username:}") String fromEmail,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                                 @Value("${app.mail.outbox.send-timeout:5m}") Duration sendTimeout) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+
+        Gauge.builder("email.outbox.depth", outboxService, EmailOutboxService::queueDepth)
+                .description("E-mails waiting in the outbox")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.outbox.send.latency")
+                .description("Time to send one outbox batch over SMTP")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("email.outbox.delivery.latency")
+                .description("Time from enqueue to successful send")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.failed").register(meterRegistry);
+    }
+
+    public void dispatch() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends one batch of due messages and returns how many were claimed.
+     */
+    public int dispatchBatch() {
+        List<EmailOutbox> batch = outboxService.claim(batchSize, sendTimeout);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        String claimToken = batch.get(0).getClaimToken();
+
+        Map<MimeMessage, EmailOutbox> entries = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox entry : batch) {
+            try {
+                MimeMessage message = toMimeMessage(entry);
+                entries.put(message, entry);
+                messages.add(message);
+            } catch (MessagingException e) {
+                fail(entry, claimToken, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long started = System.nanoTime();
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+        sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        List<Long> sent = new ArrayList<>(messages.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (MimeMessage message : messages) {
+            EmailOutbox entry = entries.get(message);
+            Exception failure = failures.get(message);
+            if (failure != null) {
+                fail(entry, claimToken, failure);
+            } else {
+                sent.add(entry.getId());
+                deliveryTimer.record(Duration.between(entry.getCreatedAt(), now));
+            }
+        }
+        outboxService.markSent(sent, claimToken);
+        sentCounter.increment(sent.size());
+
+        if (!failures.isEmpty()) {
+            log.warn("E-mail batch: {} sent, {} failed", sent.size(), batch.size() - sent.size());
+        }
+        return batch.size();
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox entry) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        if (fromEmail != null && !fromEmail.isBlank()) {
+            helper.setFrom(fromEmail);
+        }
+        helper.setTo(entry.getRecipient());
+        helper.setSubject(entry.getSubject());
+        helper.setText(entry.getBody());
+        return message;
+    }
+
+    private void fail(EmailOutbox entry, String claimToken, Exception e) {
+        if (outboxService.markFailed(entry.getId(), claimToken, e.getMessage())) {
+            retriedCounter.increment();
+        } else {
+            failedCounter.increment();
+            log.error("Giving up on e-mail {} to {}: {}", entry.getId(), entry.getRecipient(), e.getMessage());
+        }
+    }
+
+    private static Map<Object, Exception> allFailed(List<MimeMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
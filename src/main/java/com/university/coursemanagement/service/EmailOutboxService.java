@@ -0,0 +1,114 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.EmailOutbox;
+import com.university.coursemanagement.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistent queue of outgoing e-mails. Producers enqueue inside their own transaction;
+ * dispatchers claim due rows in batches, send them and report the outcome.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    // SENDING rows are only due once their claim has expired
+    private static final Set<EmailOutbox.Status> QUEUED = EnumSet.of(EmailOutbox.Status.PENDING, EmailOutbox.Status.SENDING);
+
+    private final EmailOutboxRepository outboxRepository;
+
+    @Value("${app.mail.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Transactional
+    public EmailOutbox enqueue(String recipient, String subject, String body) {
+        return outboxRepository.save(EmailOutbox.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .build());
+    }
+
+    /**
+     * Claims up to batchSize due messages for one send attempt, counting the attempt. A claim
+     * that is not completed within lease (the dispatcher died mid-send) becomes due again,
+     * unless it was the last of maxAttempts: such a message is marked FAILED instead, so one
+     * that keeps crashing the dispatcher is not retried forever.
+     */
+    @Transactional
+    public List<EmailOutbox> claim(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = outboxRepository.failExpired(EmailOutbox.Status.SENDING, EmailOutbox.Status.FAILED,
+                now, maxAttempts, "Send did not complete within its lease");
+        if (abandoned > 0) {
+            log.error("Giving up on {} e-mails whose last send attempt did not complete", abandoned);
+        }
+        List<Long> due = outboxRepository.findDueIds(QUEUED, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        outboxRepository.claim(due, QUEUED, now, EmailOutbox.Status.SENDING, now.plus(lease), token);
+        return outboxRepository.findByClaimTokenOrderById(token);
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids, String claimToken) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markSent(ids, claimToken, EmailOutbox.Status.SENT, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Schedules another attempt with exponential backoff, or gives up after maxAttempts.
+     * Returns true if the message will be retried.
+     */
+    @Transactional
+    public boolean markFailed(Long id, String claimToken, String error) {
+        EmailOutbox entry = outboxRepository.findById(id).orElse(null);
+        if (entry == null || !claimToken.equals(entry.getClaimToken())) {
+            return false;
+        }
+        // Counted when the message was claimed
+        int attempts = entry.getAttempts();
+        entry.setClaimToken(null);
+        entry.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            entry.setStatus(EmailOutbox.Status.FAILED);
+            return false;
+        }
+        entry.setStatus(EmailOutbox.Status.PENDING);
+        entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public long queueDepth() {
+        return outboxRepository.countByStatusIn(QUEUED);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
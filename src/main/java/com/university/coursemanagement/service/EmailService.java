@@ -1,68 +1,72 @@
 package com.university.coursemanagement.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * Composes notification e-mails and queues them in the outbox, in the caller's
+ * transaction. EmailOutboxDispatcher does the actual SMTP work.
+ */
 @Service
 @ConditionalOnBean(JavaMailSender.class)
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final String SIGNATURE = "Best regards,\nCourse Management System";
+
+    private static final EmailTemplate DIGEST_SUBJECT = EmailTemplate.compile(
+            "Deadline Reminder: {count} assignment(s) due soon", "count");
+    private static final EmailTemplate DIGEST_HEADER = EmailTemplate.compile(
+            "Dear {name},\n\nThe deadlines for the following assignments are approaching:\n\n", "name");
+    private static final EmailTemplate DIGEST_LINE = EmailTemplate.compile(
+            "  - {title} (due {deadline})\n", "title", "deadline");
+    private static final EmailTemplate DIGEST_FOOTER = EmailTemplate.compile(
+            "\nPlease make sure to submit your work on time.\n\n" + SIGNATURE);
 
-    @Value("${spring.mail.username:}")
-    private String fromEmail;
+    private static final EmailTemplate LATE_SUBJECT = EmailTemplate.compile(
+            "Late Submission: {title}", "title");
+    private static final EmailTemplate LATE_BODY = EmailTemplate.compile(
+            "Dear {name},\n\n" +
+            "Your submission for assignment '{title}' was received after the deadline.\n" +
+            "Penalty applied: {penalty} points\n\n" + SIGNATURE,
+            "name", "title", "penalty");
 
-    public void sendDeadlineReminder(String to, String studentName, String assignmentTitle, String deadline) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject("Deadline Reminder: " + assignmentTitle);
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "This is a reminder that the deadline for assignment '%s' is approaching.\n" +
-                    "Deadline: %s\n\n" +
-                    "Please make sure to submit your work on time.\n\n" +
-                    "Best regards,\n" +
-                    "Course Management System",
-                    studentName, assignmentTitle, deadline
-            ));
+    private final EmailOutboxService outboxService;
 
-            mailSender.send(message);
-            log.info("Deadline reminder email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
+    /**
+     * Queues one reminder listing every upcoming deadline of a student.
+     */
+    public void sendDeadlineDigest(String to, String studentName, List<DeadlineItem> deadlines) {
+        if (deadlines.isEmpty()) {
+            return;
         }
+        StringBuilder body = new StringBuilder(256 + 64 * deadlines.size());
+        DIGEST_HEADER.render(body, studentName);
+        for (DeadlineItem item : deadlines) {
+            DIGEST_LINE.render(body, item.getAssignmentTitle(), item.getDeadline());
+        }
+        DIGEST_FOOTER.render(body);
+
+        outboxService.enqueue(to, DIGEST_SUBJECT.render(deadlines.size()), body.toString());
+        log.debug("Deadline digest with {} assignments queued for: {}", deadlines.size(), to);
     }
 
     public void sendLateSubmissionNotification(String to, String studentName, String assignmentTitle, int penaltyPoints) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject("Late Submission: " + assignmentTitle);
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "Your submission for assignment '%s' was received after the deadline.\n" +
-                    "Penalty applied: %d points\n\n" +
-                    "Best regards,\n" +
-                    "Course Management System",
-                    studentName, assignmentTitle, penaltyPoints
-            ));
+        outboxService.enqueue(to, LATE_SUBJECT.render(assignmentTitle),
+                LATE_BODY.render(studentName, assignmentTitle, penaltyPoints));
+        log.debug("Late submission notification queued for: {}", to);
+    }
 
-            mailSender.send(message);
-            log.info("Late submission notification sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-        }
+    @Value
+    public static class DeadlineItem {
+        String assignmentTitle;
+        String deadline;
     }
 }
-
-
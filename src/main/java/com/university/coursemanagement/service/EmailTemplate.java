@@ -0,0 +1,54 @@
+package com.university.coursemanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain-text template compiled once into literal and placeholder segments. Placeholders
+ * are written {name} and filled positionally, in the order the names are given to
+ * compile, so rendering is a single pass of StringBuilder appends.
+ */
+final class EmailTemplate {
+
+    private final String[] literals;
+    private final int[] slots;
+
+    private EmailTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    static EmailTemplate compile(String template, String... names) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = template.indexOf('{', from)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template: " + template);
+            }
+            String name = template.substring(open + 1, close);
+            int slot = List.of(names).indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {" + name + "} in template: " + template);
+            }
+            literals.add(template.substring(from, open));
+            slots.add(slot);
+            from = close + 1;
+        }
+        literals.add(template.substring(from));
+        return new EmailTemplate(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    StringBuilder render(StringBuilder out, Object... values) {
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]).append(values[slots[i]]);
+        }
+        return out.append(literals[slots.length]);
+    }
+
+    String render(Object... values) {
+        return render(new StringBuilder(128), values).toString();
+    }
+}
@@ -7,6 +7,7 @@ import com.university.coursemanagement.entity.CourseFormula;
 import com.university.coursemanagement.exception.InvalidGradingFormulaException;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.ExamRepository;
+import com.university.coursemanagement.repository.GradeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +20,11 @@ import java.util.stream.Collectors;
 public class ExamService {
 
     private final ExamRepository examRepository;
+    private final GradeRepository gradeRepository;
     private final CourseService courseService;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
 
     @Transactional
     public ExamDTO createExam(Long courseId, ExamDTO dto) {
@@ -49,6 +54,8 @@ public class ExamService {
                 .build();
 
         exam = examRepository.save(exam);
+        columnarGradeBookCache.evict(courseId);
+        courseVersionService.bump(courseId);
         return toDTO(exam);
     }
 
@@ -76,15 +83,22 @@ public class ExamService {
         exam.setExamDate(dto.getExamDate());
 
         exam = examRepository.save(exam);
+        columnarGradeBookCache.evict(exam.getCourse().getId());
+        courseVersionService.bump(exam.getCourse().getId());
         return toDTO(exam);
     }
 
     @Transactional
     public void deleteExam(Long id) {
-        if (!examRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Exam not found with id: " + id);
-        }
-        examRepository.deleteById(id);
+        Exam exam = examRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam not found with id: " + id));
+        Long courseId = exam.getCourse().getId();
+        List<Long> gradedStudentIds = gradeRepository.findStudentIdsByExamId(id);
+        examRepository.delete(exam);
+        // Only students graded on the exam have its points in their row
+        gradeBookSummaryService.refresh(courseId, gradedStudentIds);
+        columnarGradeBookCache.evict(courseId);
+        courseVersionService.bump(courseId);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,107 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.repository.EnrollmentRepository;
+import com.university.coursemanagement.repository.GradeRepository;
+import com.university.coursemanagement.repository.projection.EnrolledStudentView;
+import com.university.coursemanagement.repository.projection.GradeBookEntryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds a course gradebook from two set-based projection queries (enrolled students and
+ * the course's grades) instead of loading grades student by student.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeBookAssembler {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeRepository gradeRepository;
+
+    @Transactional(readOnly = true)
+    public GradeBookDTO assemble(Course course) {
+        List<EnrolledStudentView> students = enrollmentRepository.findEnrolledStudents(course.getId());
+
+        Map<Long, List<GradeBookEntryView>> entriesByStudent = new HashMap<>();
+        for (GradeBookEntryView entry : gradeRepository.findGradeBookEntries(course.getId())) {
+            entriesByStudent.computeIfAbsent(entry.getStudentId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        GradeBookDTO gradeBook = GradeBookDTO.builder()
+                .courseId(course.getId())
+                .courseName(course.getName())
+                .courseCode(course.getCode())
+                .studentGrades(new ArrayList<>(students.size()))
+                .build();
+
+        for (EnrolledStudentView student : students) {
+            gradeBook.getStudentGrades().add(toStudentGrade(student,
+                    entriesByStudent.getOrDefault(student.getId(), List.of())));
+        }
+
+        return gradeBook;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<GradeBookDTO.StudentGradeDTO> assembleStudent(Long courseId, Long studentId) {
+        return enrollmentRepository.findEnrolledStudent(courseId, studentId)
+                .map(student -> toStudentGrade(student,
+                        gradeRepository.findGradeBookEntriesForStudent(courseId, studentId)));
+    }
+
+    public static String letterGrade(int totalPoints) {
+        if (totalPoints >= 90) return "A";
+        if (totalPoints >= 80) return "B";
+        if (totalPoints >= 70) return "C";
+        if (totalPoints >= 60) return "D";
+        return "F";
+    }
+
+    private GradeBookDTO.StudentGradeDTO toStudentGrade(EnrolledStudentView student, List<GradeBookEntryView> entries) {
+        List<GradeBookDTO.AssignmentGradeDTO> assignmentGrades = new ArrayList<>();
+        GradeBookDTO.ExamGradeDTO examGrade = null;
+        int totalPoints = 0;
+
+        for (GradeBookEntryView entry : entries) {
+            if (entry.getAssignmentId() != null) {
+                assignmentGrades.add(GradeBookDTO.AssignmentGradeDTO.builder()
+                        .assignmentId(entry.getAssignmentId())
+                        .assignmentTitle(entry.getAssignmentTitle())
+                        .maxPoints(entry.getAssignmentMaxPoints())
+                        .points(entry.getPoints())
+                        .isLate(entry.getIsLate())
+                        .penaltyApplied(entry.getPenaltyApplied())
+                        .build());
+                totalPoints += entry.getPoints();
+            } else if (entry.getExamId() != null) {
+                examGrade = GradeBookDTO.ExamGradeDTO.builder()
+                        .examId(entry.getExamId())
+                        .examTitle(entry.getExamTitle())
+                        .maxPoints(entry.getExamMaxPoints())
+                        .points(entry.getPoints())
+                        .build();
+                totalPoints += entry.getPoints();
+            }
+        }
+
+        return GradeBookDTO.StudentGradeDTO.builder()
+                .studentId(student.getId())
+                .studentName(student.getName() != null ? student.getName() : student.getEmail())
+                .studentIdNumber(null) // studentId no longer exists
+                .email(student.getEmail())
+                .assignmentGrades(assignmentGrades)
+                .examGrade(examGrade)
+                .totalPoints(totalPoints)
+                .finalGrade(letterGrade(totalPoints))
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.entity.Exam;
+import com.university.coursemanagement.entity.GradeBookSummary;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.ExamRepository;
+import com.university.coursemanagement.repository.GradeBookSummaryRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams a course gradebook row by row from a database cursor over the materialized
+ * summaries, so memory use does not grow with the number of enrolled students.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeBookExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 200;
+
+    private final GradeBookSummaryRepository summaryRepository;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final CourseRepository courseRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamRepository examRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    public void checkCourseExists(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long courseId, Format format, OutputStream outputStream) throws IOException {
+        Map<Long, Assignment> assignments = assignmentRepository.findByCourseId(courseId).stream()
+                .collect(Collectors.toMap(Assignment::getId, Function.identity()));
+        Map<Long, Exam> exams = examRepository.findByCourseId(courseId).stream()
+                .collect(Collectors.toMap(Exam::getId, Function.identity()));
+        List<Assignment> columns = new ArrayList<>(assignments.values());
+        columns.sort(Comparator.comparing(Assignment::getId));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvHeader(writer, columns);
+        }
+        // Send the header before the row query runs
+        writer.flush();
+
+        try (Stream<GradeBookSummary> rows = summaryRepository.streamByCourseId(courseId)) {
+            int written = 0;
+            for (GradeBookSummary summary : (Iterable<GradeBookSummary>) rows::iterator) {
+                GradeBookDTO.StudentGradeDTO row = gradeBookSummaryService.toStudentGrade(summary, assignments, exams);
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, columns, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                // Keep the persistence context from accumulating every row read so far
+                entityManager.detach(summary);
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvHeader(Writer writer, List<Assignment> columns) throws IOException {
+        List<String> header = new ArrayList<>(List.of("student_id", "student_name", "email"));
+        for (Assignment assignment : columns) {
+            header.add(assignment.getTitle() + " points");
+            header.add(assignment.getTitle() + " late");
+            header.add(assignment.getTitle() + " penalty");
+        }
+        header.addAll(List.of("exam_id", "exam_title", "exam_points", "total_points", "final_grade"));
+        writeCsvLine(writer, header);
+    }
+
+    private void writeCsvRow(Writer writer, List<Assignment> columns, GradeBookDTO.StudentGradeDTO row) throws IOException {
+        Map<Long, GradeBookDTO.AssignmentGradeDTO> grades = new HashMap<>();
+        for (GradeBookDTO.AssignmentGradeDTO grade : row.getAssignmentGrades()) {
+            grades.put(grade.getAssignmentId(), grade);
+        }
+
+        List<Object> values = new ArrayList<>();
+        values.add(row.getStudentId());
+        values.add(row.getStudentName());
+        values.add(row.getEmail());
+        for (Assignment assignment : columns) {
+            GradeBookDTO.AssignmentGradeDTO grade = grades.get(assignment.getId());
+            values.add(grade != null ? grade.getPoints() : null);
+            values.add(grade != null ? grade.getIsLate() : null);
+            values.add(grade != null ? grade.getPenaltyApplied() : null);
+        }
+        GradeBookDTO.ExamGradeDTO exam = row.getExamGrade();
+        values.add(exam != null ? exam.getExamId() : null);
+        values.add(exam != null ? exam.getExamTitle() : null);
+        values.add(exam != null ? exam.getPoints() : null);
+        values.add(row.getTotalPoints());
+        values.add(row.getFinalGrade());
+        writeCsvLine(writer, values);
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,208 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.*;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the materialized gradebook (one GradeBookSummary row per enrolled student)
+ * and serves gradebook reads from it.
+ *
+ * Write paths call refresh() inside their own transaction, so the row always matches the
+ * committed grades; enrolling a student creates the row. rebuild() recomputes a whole course
+ * from scratch.
+ *
+ * Both lock the enrollments they recompute before reading the summary rows. An enrollment
+ * exists whether or not its summary row does yet, so writers for the same student, the first
+ * ones included, and rebuilds of the course save the row one after another.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeBookSummaryService {
+
+    private final GradeBookSummaryRepository summaryRepository;
+    private final GradeBookAssembler gradeBookAssembler;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ExamRepository examRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public Optional<GradeBookDTO.StudentGradeDTO> refresh(Long courseId, Long studentId) {
+        enrollmentRepository.lockEnrollment(courseId, studentId);
+        Optional<GradeBookSummary> existing = summaryRepository.findByCourseIdAndStudentId(courseId, studentId);
+        Optional<GradeBookDTO.StudentGradeDTO> studentGrade = gradeBookAssembler.assembleStudent(courseId, studentId);
+
+        if (studentGrade.isEmpty()) {
+            // Student is no longer enrolled
+            existing.ifPresent(summaryRepository::delete);
+            return studentGrade;
+        }
+
+        GradeBookSummary summary = existing.orElseGet(() -> GradeBookSummary.builder()
+                .course(courseRepository.getReferenceById(courseId))
+                .student(studentRepository.getReferenceById(studentId))
+                .build());
+        apply(summary, studentGrade.get());
+        summaryRepository.save(summary);
+        return studentGrade;
+    }
+
+    /**
+     * Refreshes the rows of some students of a course, in id order.
+     */
+    @Transactional
+    public void refresh(Long courseId, List<Long> studentIds) {
+        for (Long studentId : studentIds) {
+            refresh(courseId, studentId);
+        }
+    }
+
+    @Transactional
+    public void updateStudentDetails(Student student) {
+        summaryRepository.updateStudentDetails(student.getId(), student.getName(), student.getEmail());
+    }
+
+    @Transactional
+    public int rebuild(Long courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        enrollmentRepository.lockEnrollments(courseId);
+        GradeBookDTO gradeBook = gradeBookAssembler.assemble(course);
+
+        summaryRepository.deleteByCourseId(courseId);
+
+        List<GradeBookSummary> summaries = new ArrayList<>(gradeBook.getStudentGrades().size());
+        for (GradeBookDTO.StudentGradeDTO studentGrade : gradeBook.getStudentGrades()) {
+            GradeBookSummary summary = GradeBookSummary.builder()
+                    .course(course)
+                    .student(studentRepository.getReferenceById(studentGrade.getStudentId()))
+                    .build();
+            apply(summary, studentGrade);
+            summaries.add(summary);
+        }
+        summaryRepository.saveAll(summaries);
+
+        log.info("Rebuilt gradebook for course {} ({} students)", courseId, summaries.size());
+        return summaries.size();
+    }
+
+    /**
+     * Rebuilds every course, each in its own transaction, so locks and loaded entities are
+     * only held for one course at a time. Courses deleted during the run are skipped.
+     */
+    public int rebuildAll() {
+        int rows = 0;
+        for (Long courseId : courseRepository.findAllIds()) {
+            try {
+                rows += transactionTemplate.execute(status -> rebuild(courseId));
+            } catch (ResourceNotFoundException e) {
+                log.info("Skipped gradebook rebuild of deleted course {}", courseId);
+            }
+        }
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public GradeBookDTO getGradeBook(Course course) {
+        List<GradeBookSummary> summaries = summaryRepository.findByCourseId(course.getId());
+        Map<Long, Assignment> assignments = assignmentRepository.findByCourseId(course.getId()).stream()
+                .collect(Collectors.toMap(Assignment::getId, Function.identity()));
+        Map<Long, Exam> exams = examRepository.findByCourseId(course.getId()).stream()
+                .collect(Collectors.toMap(Exam::getId, Function.identity()));
+
+        GradeBookDTO gradeBook = GradeBookDTO.builder()
+                .courseId(course.getId())
+                .courseName(course.getName())
+                .courseCode(course.getCode())
+                .studentGrades(new ArrayList<>(summaries.size()))
+                .build();
+
+        for (GradeBookSummary summary : summaries) {
+            gradeBook.getStudentGrades().add(toStudentGrade(summary, assignments, exams));
+        }
+        return gradeBook;
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeBookSummary> getSummaries(Long courseId) {
+        return summaryRepository.findByCourseId(courseId);
+    }
+
+    private void apply(GradeBookSummary summary, GradeBookDTO.StudentGradeDTO studentGrade) {
+        List<GradeBookCell> cells = studentGrade.getAssignmentGrades().stream()
+                .map(grade -> GradeBookCell.builder()
+                        .assignmentId(grade.getAssignmentId())
+                        .points(grade.getPoints())
+                        .isLate(grade.getIsLate())
+                        .penaltyApplied(grade.getPenaltyApplied())
+                        .build())
+                .collect(Collectors.toList());
+        int lateCount = (int) cells.stream().filter(cell -> Boolean.TRUE.equals(cell.getIsLate())).count();
+        GradeBookDTO.ExamGradeDTO examGrade = studentGrade.getExamGrade();
+
+        summary.setStudentName(studentGrade.getStudentName());
+        summary.setEmail(studentGrade.getEmail());
+        summary.setTotalPoints(studentGrade.getTotalPoints());
+        summary.setLateCount(lateCount);
+        summary.setFinalGrade(studentGrade.getFinalGrade());
+        summary.setExamId(examGrade != null ? examGrade.getExamId() : null);
+        summary.setExamPoints(examGrade != null ? examGrade.getPoints() : null);
+        summary.setAssignmentCells(cells);
+    }
+
+    GradeBookDTO.StudentGradeDTO toStudentGrade(GradeBookSummary summary,
+                                                Map<Long, Assignment> assignments,
+                                                Map<Long, Exam> exams) {
+        List<GradeBookDTO.AssignmentGradeDTO> assignmentGrades = new ArrayList<>(summary.getAssignmentCells().size());
+        for (GradeBookCell cell : summary.getAssignmentCells()) {
+            Assignment assignment = assignments.get(cell.getAssignmentId());
+            assignmentGrades.add(GradeBookDTO.AssignmentGradeDTO.builder()
+                    .assignmentId(cell.getAssignmentId())
+                    .assignmentTitle(assignment != null ? assignment.getTitle() : null)
+                    .maxPoints(assignment != null ? assignment.getMaxPoints() : null)
+                    .points(cell.getPoints())
+                    .isLate(cell.getIsLate())
+                    .penaltyApplied(cell.getPenaltyApplied())
+                    .build());
+        }
+
+        GradeBookDTO.ExamGradeDTO examGrade = null;
+        if (summary.getExamId() != null) {
+            Exam exam = exams.get(summary.getExamId());
+            examGrade = GradeBookDTO.ExamGradeDTO.builder()
+                    .examId(summary.getExamId())
+                    .examTitle(exam != null ? exam.getTitle() : null)
+                    .maxPoints(exam != null ? exam.getMaxPoints() : null)
+                    .points(summary.getExamPoints())
+                    .build();
+        }
+
+        return GradeBookDTO.StudentGradeDTO.builder()
+                .studentId(summary.getStudent().getId())
+                .studentName(summary.getStudentName())
+                .studentIdNumber(null) // studentId no longer exists
+                .email(summary.getEmail())
+                .assignmentGrades(assignmentGrades)
+                .examGrade(examGrade)
+                .totalPoints(summary.getTotalPoints())
+                .finalGrade(summary.getFinalGrade())
+                .build();
+    }
+}
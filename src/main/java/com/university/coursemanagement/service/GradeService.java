@@ -2,6 +2,8 @@ package com.university.coursemanagement.service;
 
 import com.university.coursemanagement.dto.GradeBookDTO;
 import com.university.coursemanagement.dto.GradeDTO;
+import com.university.coursemanagement.dto.GradeTotalDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.entity.*;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.GradeRepository;
@@ -10,8 +12,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +25,9 @@ public class GradeService {
     private final AssignmentService assignmentService;
     private final ExamService examService;
     private final CourseService courseService;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
 
     @Transactional
     public GradeDTO createGrade(GradeDTO dto) {
@@ -78,6 +83,7 @@ public class GradeService {
                 .build();
 
         grade = gradeRepository.save(grade);
+        refreshGradeBook(courseIdOf(grade), student.getId());
         return toDTO(grade);
     }
 
@@ -106,113 +112,85 @@ public class GradeService {
         }
 
         grade = gradeRepository.save(grade);
+        refreshGradeBook(courseIdOf(grade), grade.getStudent().getId());
         return toDTO(grade);
     }
 
     @Transactional
     public void deleteGrade(Long id) {
-        if (!gradeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Grade not found with id: " + id);
-        }
-        gradeRepository.deleteById(id);
+        Grade grade = gradeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Grade not found with id: " + id));
+        gradeRepository.delete(grade);
+        refreshGradeBook(courseIdOf(grade), grade.getStudent().getId());
     }
 
     @Transactional(readOnly = true)
-    public List<GradeDTO> getGradesByCourseId(Long courseId) {
+    public KeysetPage<GradeDTO> getGradesByCourseId(Long courseId, Long after, int limit) {
         // Verify course exists
         courseService.getCourseEntity(courseId);
-        return gradeRepository.findByCourseId(courseId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        List<Grade> grades = Keyset.merge(
+                gradeRepository.findAssignmentGradesByCourseIdAfter(courseId, Keyset.after(after), Keyset.limit(limit)),
+                gradeRepository.findExamGradesByCourseIdAfter(courseId, Keyset.after(after), Keyset.limit(limit)),
+                limit, Grade::getId);
+        return Keyset.page(grades, limit, Grade::getId, this::toDTO);
     }
 
     @Transactional(readOnly = true)
-    public List<GradeDTO> getGradesByStudentId(Long studentId) {
-        return gradeRepository.findByStudentId(studentId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<GradeDTO> getGradesByStudentId(Long studentId, Long after, int limit) {
+        List<Grade> grades = gradeRepository.findByStudentIdAndIdGreaterThanOrderByIdAsc(
+                studentId, Keyset.after(after), Keyset.limit(limit));
+        return Keyset.page(grades, limit, Grade::getId, this::toDTO);
     }
 
-    @Transactional(readOnly = true)
+    // Not transactional: with the columnar cache enabled, hot courses are served without a session
     public GradeBookDTO getGradeBook(Long courseId) {
+        if (columnarGradeBookCache.isEnabled()) {
+            return columnarGradeBookCache.getGradeBook(courseId);
+        }
         Course course = courseService.getCourseEntity(courseId);
-        // Get students through enrollments
-        List<Student> students = course.getEnrollments().stream()
-                .map(Enrollment::getStudent)
-                .collect(Collectors.toList());
+        return gradeBookSummaryService.getGradeBook(course);
+    }
 
-        GradeBookDTO gradeBook = GradeBookDTO.builder()
-                .courseId(course.getId())
-                .courseName(course.getName())
-                .courseCode(course.getCode())
-                .studentGrades(new ArrayList<>())
-                .build();
+    public List<GradeTotalDTO> getGradeTotals(Long courseId) {
+        if (columnarGradeBookCache.isEnabled()) {
+            return columnarGradeBookCache.getTotals(courseId);
+        }
+        courseService.getCourseEntity(courseId);
+        return gradeBookSummaryService.getSummaries(courseId).stream()
+                .map(summary -> GradeTotalDTO.builder()
+                        .studentId(summary.getStudent().getId())
+                        .totalPoints(summary.getTotalPoints())
+                        .finalGrade(summary.getFinalGrade())
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        for (Student student : students) {
-            List<Grade> studentGrades = gradeRepository.findByStudentId(student.getId()).stream()
-                    .filter(g -> {
-                        if (g.getAssignment() != null) {
-                            return g.getAssignment().getCourse().getId().equals(courseId);
-                        }
-                        if (g.getExam() != null) {
-                            return g.getExam().getCourse().getId().equals(courseId);
-                        }
-                        return false;
-                    })
-                    .collect(Collectors.toList());
-
-            List<GradeBookDTO.AssignmentGradeDTO> assignmentGrades = new ArrayList<>();
-            GradeBookDTO.ExamGradeDTO examGrade = null;
-
-            int totalPoints = 0;
-
-            for (Grade grade : studentGrades) {
-                if (grade.getAssignment() != null) {
-                    Assignment assignment = grade.getAssignment();
-                    assignmentGrades.add(GradeBookDTO.AssignmentGradeDTO.builder()
-                            .assignmentId(assignment.getId())
-                            .assignmentTitle(assignment.getTitle())
-                            .maxPoints(assignment.getMaxPoints())
-                            .points(grade.getPoints())
-                            .isLate(grade.getIsLate())
-                            .penaltyApplied(grade.getPenaltyApplied())
-                            .build());
-                    totalPoints += grade.getPoints();
-                } else if (grade.getExam() != null) {
-                    Exam exam = grade.getExam();
-                    examGrade = GradeBookDTO.ExamGradeDTO.builder()
-                            .examId(exam.getId())
-                            .examTitle(exam.getTitle())
-                            .maxPoints(exam.getMaxPoints())
-                            .points(grade.getPoints())
-                            .build();
-                    totalPoints += grade.getPoints();
-                }
-            }
+    @Transactional
+    public int rebuildGradeBook(Long courseId) {
+        int rows = gradeBookSummaryService.rebuild(courseId);
+        columnarGradeBookCache.evict(courseId);
+        courseVersionService.bump(courseId);
+        return rows;
+    }
 
-            String finalGrade = calculateFinalGrade(totalPoints);
-
-            gradeBook.getStudentGrades().add(GradeBookDTO.StudentGradeDTO.builder()
-                    .studentId(student.getId())
-                    .studentName(student.getName() != null ? student.getName() : student.getEmail())
-                    .studentIdNumber(null) // studentId no longer exists
-                    .email(student.getEmail())
-                    .assignmentGrades(assignmentGrades)
-                    .examGrade(examGrade)
-                    .totalPoints(totalPoints)
-                    .finalGrade(finalGrade)
-                    .build());
-        }
+    /**
+     * Runs outside a transaction: rebuildAll commits course by course.
+     */
+    public int rebuildAllGradeBooks() {
+        int rows = gradeBookSummaryService.rebuildAll();
+        columnarGradeBookCache.evictAll();
+        courseVersionService.bumpAll();
+        return rows;
+    }
 
-        return gradeBook;
+    private void refreshGradeBook(Long courseId, Long studentId) {
+        Optional<GradeBookDTO.StudentGradeDTO> row = gradeBookSummaryService.refresh(courseId, studentId);
+        columnarGradeBookCache.updateRow(courseId, studentId, row, courseVersionService.bump(courseId));
     }
 
-    private String calculateFinalGrade(int totalPoints) {
-        if (totalPoints >= 90) return "A";
-        if (totalPoints >= 80) return "B";
-        if (totalPoints >= 70) return "C";
-        if (totalPoints >= 60) return "D";
-        return "F";
+    private Long courseIdOf(Grade grade) {
+        return grade.getAssignment() != null ?
+                grade.getAssignment().getCourse().getId() : grade.getExam().getCourse().getId();
     }
 
     private GradeDTO toDTO(Grade grade) {
@@ -0,0 +1,104 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeStatsDTO;
+import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.CourseFormula;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.GradeBookSummaryRepository;
+import com.university.coursemanagement.repository.GradeRepository;
+import com.university.coursemanagement.repository.SubmissionRepository;
+import com.university.coursemanagement.repository.projection.GradeLatenessView;
+import com.university.coursemanagement.repository.projection.SubmissionLatenessView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cohort statistics for courses and assignments. Scores come back from the database as
+ * GROUP BY frequency tables (or from the columnar gradebook cache when enabled), and
+ * lateness and penalty figures as single-row aggregates.
+ */
+@Service
+@RequiredArgsConstructor
+public class GradeStatsService {
+
+    private final CourseRepository courseRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final GradeRepository gradeRepository;
+    private final SubmissionRepository submissionRepository;
+    private final GradeBookSummaryRepository summaryRepository;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+
+    @Transactional(readOnly = true)
+    public GradeStatsDTO getCourseStats(Long courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+
+        ScoreDistribution totals = columnarGradeBookCache.isEnabled()
+                ? ScoreDistribution.ofValues(columnarGradeBookCache.getTotalPoints(courseId))
+                : ScoreDistribution.ofFrequencies(summaryRepository.countTotalPointsByCourseId(courseId));
+        int maxPoints = maxCoursePoints(course, totals);
+
+        GradeStatsDTO stats = GradeStatsDTO.builder()
+                .scope(GradeStatsDTO.Scope.COURSE)
+                .id(course.getId())
+                .title(course.getName())
+                .maxPoints(maxPoints)
+                .letterGrades(totals.letterGrades())
+                .build();
+        totals.applyTo(stats, maxPoints);
+        applyLateness(stats,
+                gradeRepository.summarizeLatenessByCourseId(courseId),
+                submissionRepository.summarizeLatenessByCourseId(courseId));
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public GradeStatsDTO getAssignmentStats(Long assignmentId) {
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found with id: " + assignmentId));
+
+        ScoreDistribution points = ScoreDistribution.ofFrequencies(gradeRepository.countPointsByAssignmentId(assignmentId));
+        int maxPoints = assignment.getMaxPoints() != null ? assignment.getMaxPoints() : 0;
+
+        GradeStatsDTO stats = GradeStatsDTO.builder()
+                .scope(GradeStatsDTO.Scope.ASSIGNMENT)
+                .id(assignment.getId())
+                .title(assignment.getTitle())
+                .maxPoints(maxPoints)
+                .build();
+        points.applyTo(stats, maxPoints);
+        applyLateness(stats,
+                gradeRepository.summarizeLatenessByAssignmentId(assignmentId),
+                submissionRepository.summarizeLatenessByAssignmentId(assignmentId));
+        return stats;
+    }
+
+    private void applyLateness(GradeStatsDTO stats, GradeLatenessView grades, SubmissionLatenessView submissions) {
+        stats.setGrades(grades.getGradeCount());
+        stats.setLateGrades(grades.getLateCount());
+        stats.setLateGradeRatio(ratio(grades.getLateCount(), grades.getGradeCount()));
+        stats.setGradePenaltyPoints(grades.getPenaltyPoints());
+
+        stats.setSubmissions(submissions.getSubmissionCount());
+        stats.setLateSubmissions(submissions.getLateCount());
+        stats.setLateSubmissionRatio(ratio(submissions.getLateCount(), submissions.getSubmissionCount()));
+        stats.setPenalizedSubmissions(submissions.getPenalizedCount());
+    }
+
+    private int maxCoursePoints(Course course, ScoreDistribution totals) {
+        CourseFormula formula = course.getFormula();
+        if (formula != null && formula.getNumberOfLabs() != null && formula.getPointsPerLab() != null
+                && formula.getExamPoints() != null) {
+            return formula.getNumberOfLabs() * formula.getPointsPerLab() + formula.getExamPoints();
+        }
+        return totals.getMax() != null ? totals.getMax() : 0;
+    }
+
+    private static Double ratio(long part, long whole) {
+        return whole > 0 ? (double) part / whole : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
 import com.university.coursemanagement.dto.GradingFormulaDTO;
 import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.entity.CourseFormula;
@@ -9,6 +10,8 @@ import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.CourseRepository;
 import com.university.coursemanagement.repository.GradingFormulaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +22,9 @@ public class GradingFormulaService {
     private final GradingFormulaRepository formulaRepository;
     private final CourseRepository courseRepository;
     private final CourseService courseService;
+    private final CourseVersionService courseVersionService;
 
+    @CachePut(value = CacheConfig.FORMULAS, key = "#courseId")
     @Transactional
     public GradingFormulaDTO createFormula(Long courseId, GradingFormulaDTO dto) {
         Course course = courseService.getCourseEntity(courseId);
@@ -34,6 +39,8 @@ public class GradingFormulaService {
                 .build();
         course.setFormula(embeddedFormula);
         course = courseRepository.save(course);
+        courseVersionService.bump(courseId);
+        courseVersionService.bumpCatalog();
         
         // For compatibility, still save to repository if it exists
         GradingFormula formula = null;
@@ -52,6 +59,7 @@ public class GradingFormulaService {
         return formula != null ? toDTO(formula) : createDTOFromFormula(embeddedFormula, course.getId());
     }
 
+    @Cacheable(value = CacheConfig.FORMULAS, key = "#courseId")
     @Transactional(readOnly = true)
     public GradingFormulaDTO getFormulaByCourseId(Long courseId) {
         GradingFormula formula = formulaRepository.findByCourseId(courseId)
@@ -59,6 +67,7 @@ public class GradingFormulaService {
         return toDTO(formula);
     }
 
+    @CachePut(value = CacheConfig.FORMULAS, key = "#courseId")
     @Transactional
     public GradingFormulaDTO updateFormula(Long courseId, GradingFormulaDTO dto) {
         GradingFormula formula = formulaRepository.findByCourseId(courseId)
@@ -0,0 +1,85 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases that let exactly one node of a cluster run a background job per tick.
+ *
+ * A lease is held for at least lockAtLeastFor, so nodes whose trigger fires a little
+ * later do not run the same tick again, and at most lockAtMostFor, after which a node
+ * that died mid-run is taken over. Each lease operation runs in its own short
+ * transaction, outside the job's own transaction.
+ */
+@Service
+@Slf4j
+public class JobLeaseService {
+
+    private final JobLeaseRepository leaseRepository;
+    private final String nodeId;
+
+    public JobLeaseService(JobLeaseRepository leaseRepository,
+                           @Value("${app.cluster.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs the task if this node can take the lease of the job. Returns false if another
+     * node holds it.
+     */
+    public boolean runExclusively(String job, Duration lockAtLeastFor, Duration lockAtMostFor, Runnable task) {
+        LocalDateTime started = LocalDateTime.now();
+        if (!tryAcquire(job, started, lockAtMostFor)) {
+            log.debug("{} job is leased by another node, skipping", job);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = started.plus(lockAtLeastFor);
+            leaseRepository.release(job, nodeId, until.isAfter(now) ? until : now);
+        }
+        return true;
+    }
+
+    boolean tryAcquire(String job, LocalDateTime now, Duration lockAtMostFor) {
+        LocalDateTime until = now.plus(lockAtMostFor);
+        if (leaseRepository.acquire(job, nodeId, now, until) > 0) {
+            return true;
+        }
+        if (leaseRepository.existsById(job)) {
+            return false;
+        }
+        try {
+            return leaseRepository.create(job, nodeId, now, until) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease first
+            return false;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
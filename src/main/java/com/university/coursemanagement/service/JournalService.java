@@ -0,0 +1,69 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.JournalDTO;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.repository.SubmissionRepository;
+import com.university.coursemanagement.repository.projection.JournalEntryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class JournalService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final CoursesService coursesService;
+    private final SubmissionRepository submissionRepository;
+
+    @Transactional(readOnly = true)
+    public JournalDTO getJournal(Long courseId) {
+        Course course = coursesService.findById(courseId);
+        Page<JournalEntryView> entries = submissionRepository.findJournalEntries(courseId, Pageable.unpaged());
+        return toJournal(course, entries, false);
+    }
+
+    @Transactional(readOnly = true)
+    public JournalDTO getJournal(Long courseId, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Course course = coursesService.findById(courseId);
+        Page<JournalEntryView> entries = submissionRepository.findJournalEntries(courseId, PageRequest.of(page, size));
+        return toJournal(course, entries, true);
+    }
+
+    private JournalDTO toJournal(Course course, Page<JournalEntryView> entries, boolean paged) {
+        JournalDTO journal = JournalDTO.builder()
+                .courseId(course.getId())
+                .courseName(course.getName())
+                .courseCode(course.getCode())
+                .journal(entries.getContent().stream()
+                        .map(entry -> JournalDTO.JournalEntryDTO.builder()
+                                .studentId(entry.getStudentId())
+                                .studentName(entry.getStudentName())
+                                .email(entry.getEmail())
+                                .submissionCount(entry.getSubmissionCount())
+                                .totalPoints(entry.getTotalPoints())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        if (paged) {
+            journal.setPage(entries.getNumber());
+            journal.setSize(entries.getSize());
+            journal.setTotalElements(entries.getTotalElements());
+            journal.setTotalPages(entries.getTotalPages());
+        }
+        return journal;
+    }
+}
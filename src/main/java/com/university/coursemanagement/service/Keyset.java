@@ -0,0 +1,76 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.KeysetPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for id-ordered seek pagination: the repositories read "WHERE id > :after
+ * ORDER BY id" with a plain LIMIT, so every page is an index range scan no matter how
+ * deep the client has paged. One extra row is fetched to tell whether a next page exists.
+ */
+final class Keyset {
+
+    static final int MAX_LIMIT = 1000;
+
+    private Keyset() {
+    }
+
+    static long after(Long cursor) {
+        if (cursor != null && cursor < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        return cursor != null ? cursor : 0L;
+    }
+
+    static Pageable limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+
+    /**
+     * Merges two id-ordered pages of the same query split in two into one page of up to
+     * limit + 1 rows. A row found by both halves is kept once.
+     */
+    static <T> List<T> merge(List<T> first, List<T> second, int limit, Function<T, Long> idOf) {
+        List<T> merged = new ArrayList<>(Math.min(first.size() + second.size(), limit + 1));
+        int i = 0;
+        int j = 0;
+        while (merged.size() <= limit && (i < first.size() || j < second.size())) {
+            if (j == second.size()) {
+                merged.add(first.get(i++));
+            } else if (i == first.size()) {
+                merged.add(second.get(j++));
+            } else {
+                long a = idOf.apply(first.get(i));
+                long b = idOf.apply(second.get(j));
+                if (a < b) {
+                    merged.add(first.get(i++));
+                } else if (a > b) {
+                    merged.add(second.get(j++));
+                } else {
+                    merged.add(first.get(i++));
+                    j++;
+                }
+            }
+        }
+        return merged;
+    }
+
+    static <T, R> KeysetPage<R> page(List<T> rows, int limit, Function<T, Long> idOf, Function<T, R> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<T> items = hasNext ? rows.subList(0, limit) : rows;
+        return KeysetPage.<R>builder()
+                .items(items.stream().map(mapper).collect(Collectors.toList()))
+                .limit(limit)
+                .nextCursor(hasNext ? idOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+
+/**
+ * Applies late penalties with one set-based UPDATE per assignment instead of loading and
+ * saving submissions one by one. Safe to run from several threads or nodes at once:
+ * a row is only updated while penaltyApplied is still false, so it is penalized once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LatePenaltyService {
+
+    private final SubmissionRepository submissionRepository;
+
+    /**
+     * Penalizes the late submissions of the assignment and stamps them with runId.
+     * Returns how many submissions were penalized by this call.
+     */
+    @Transactional
+    public int applyLatePenalties(Assignment assignment, String runId) {
+        if (assignment.getDeadline() == null || assignment.getPenaltyPerDay() == null
+                || assignment.getPenaltyPerDay() <= 0) {
+            return 0;
+        }
+
+        // Both sides of the day count are read as UTC, so only their difference matters
+        int penalized = submissionRepository.applyLatePenalty(
+                assignment.getId(),
+                assignment.getPenaltyPerDay(),
+                assignment.getDeadline().toEpochSecond(ZoneOffset.UTC),
+                assignment.getDeadline().plusDays(1),
+                runId);
+        if (penalized > 0) {
+            log.info("Late penalty run {} penalized {} submissions of assignment {}",
+                    runId, penalized, assignment.getId());
+        }
+        return penalized;
+    }
+}
@@ -0,0 +1,139 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.projection.AssignmentDeadlineView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Assignment deadlines the penalty job still has to act on, in a min-heap ordered by
+ * deadline. Each tick pops only the deadlines that have passed, so assignments whose
+ * penalties were settled long ago are never looked at again.
+ *
+ * Changing a deadline pushes a new heap entry; the old one is recognised as stale
+ * against the deadlines map and dropped when it reaches the top.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PenaltyDeadlineIndex {
+
+    private final AssignmentRepository assignmentRepository;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+            Comparator.comparing((Entry entry) -> entry.deadline).thenComparing(entry -> entry.assignmentId));
+    private final Map<Long, LocalDateTime> deadlines = new HashMap<>();
+
+    /**
+     * Loads pending deadlines from the database at startup, and periodically afterwards to
+     * pick up deadlines changed on other nodes. The earlier of the indexed and the stored
+     * deadline wins: an early entry is harmless, since the penalty job re-checks the
+     * assignment and re-schedules it if its deadline is still ahead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<AssignmentDeadlineView> pending = assignmentRepository.findPendingDeadlines(LocalDateTime.now());
+        synchronized (this) {
+            for (AssignmentDeadlineView view : pending) {
+                LocalDateTime indexed = deadlines.get(view.getId());
+                if (indexed == null || view.getDeadline().isBefore(indexed)) {
+                    put(view.getId(), view.getDeadline());
+                }
+            }
+        }
+        log.info("Penalty deadline index loaded with {} assignments", pending.size());
+    }
+
+    /**
+     * Indexes the assignment under its new deadline once the current transaction commits.
+     * A deadline in the past is picked up by the next tick.
+     */
+    public void schedule(Long assignmentId, LocalDateTime deadline) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                if (deadline != null) {
+                    put(assignmentId, deadline);
+                } else {
+                    deadlines.remove(assignmentId);
+                }
+            }
+        });
+    }
+
+    public void remove(Long assignmentId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                deadlines.remove(assignmentId);
+            }
+        });
+    }
+
+    /**
+     * Removes and returns the assignments whose deadline is at or before now. If the
+     * surrounding transaction rolls back they go back into the index.
+     */
+    public synchronized List<Long> pollDue(LocalDateTime now) {
+        List<Entry> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().deadline.isAfter(now)) {
+            Entry entry = queue.poll();
+            if (entry.deadline.equals(deadlines.get(entry.assignmentId))) {
+                deadlines.remove(entry.assignmentId);
+                due.add(entry);
+            }
+        }
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        TransactionCallbacks.afterRollback(() -> {
+            synchronized (this) {
+                for (Entry entry : due) {
+                    if (!deadlines.containsKey(entry.assignmentId)) {
+                        put(entry.assignmentId, entry.deadline);
+                    }
+                }
+            }
+        });
+        List<Long> ids = new ArrayList<>(due.size());
+        for (Entry entry : due) {
+            ids.add(entry.assignmentId);
+        }
+        return ids;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private void put(Long assignmentId, LocalDateTime deadline) {
+        if (!deadline.equals(deadlines.put(assignmentId, deadline))) {
+            queue.add(new Entry(assignmentId, deadline));
+        }
+        // Stale entries pile up when deadlines keep moving; compact once they dominate
+        if (queue.size() > 2 * deadlines.size() + 64) {
+            queue.clear();
+            deadlines.forEach((id, at) -> queue.add(new Entry(id, at)));
+        }
+    }
+
+    private static final class Entry {
+        private final Long assignmentId;
+        private final LocalDateTime deadline;
+
+        private Entry(Long assignmentId, LocalDateTime deadline) {
+            this.assignmentId = assignmentId;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.university.coursemanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs each named background job on its own single-threaded executor. A trigger that
+ * fires while the previous run of the same job is still busy is skipped and counted
+ * instead of queueing up behind it.
+ *
+ * Metrics per job (tag "job"): scheduler.job.duration, scheduler.job.lag (from trigger
+ * to start of the run), scheduler.job.skipped and scheduler.job.failures.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledJobRunner {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a run of the job unless one is already in progress. Returns false when the
+     * trigger was skipped.
+     */
+    public boolean trigger(String name, Runnable task) {
+        Job job = jobs.computeIfAbsent(name, this::newJob);
+        if (!job.running.compareAndSet(false, true)) {
+            job.skipped.increment();
+            log.warn("Skipping {} job: the previous run is still in progress", name);
+            return false;
+        }
+        long triggeredAt = System.nanoTime();
+        try {
+            job.executor.execute(() -> job.run(task, triggeredAt));
+        } catch (RejectedExecutionException e) {
+            job.running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    public boolean isRunning(String name) {
+        Job job = jobs.get(name);
+        return job != null && job.running.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        jobs.values().forEach(job -> job.executor.shutdown());
+        for (Job job : jobs.values()) {
+            if (!job.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("{} job did not finish before shutdown", job.name);
+                job.executor.shutdownNow();
+            }
+        }
+    }
+
+    private Job newJob(String name) {
+        return new Job(name,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("job-" + name + "-")),
+                Timer.builder("scheduler.job.duration").tag("job", name).register(meterRegistry),
+                Timer.builder("scheduler.job.lag").tag("job", name).register(meterRegistry),
+                Counter.builder("scheduler.job.skipped").tag("job", name).register(meterRegistry),
+                Counter.builder("scheduler.job.failures").tag("job", name).register(meterRegistry));
+    }
+
+    private static final class Job {
+        private final String name;
+        private final ExecutorService executor;
+        private final Timer duration;
+        private final Timer lag;
+        private final Counter skipped;
+        private final Counter failures;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Job(String name, ExecutorService executor, Timer duration, Timer lag, Counter skipped, Counter failures) {
+            this.name = name;
+            this.executor = executor;
+            this.duration = duration;
+            this.lag = lag;
+            this.skipped = skipped;
+            this.failures = failures;
+        }
+
+        private void run(Runnable task, long triggeredAt) {
+            long started = System.nanoTime();
+            lag.record(started - triggeredAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("{} job failed", name, e);
+            } finally {
+                duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                running.set(false);
+            }
+        }
+    }
+}
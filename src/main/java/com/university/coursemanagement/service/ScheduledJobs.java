@@ -0,0 +1,82 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.security.TokenRevocationList;
+import com.university.coursemanagement.security.UserRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Triggers of all background jobs. Each trigger only hands its job to ScheduledJobRunner,
+ * so the scheduler threads stay free and every job runs on its own executor.
+ *
+ * Jobs that must run once per tick across the cluster take a database lease first. The
+ * outbox dispatcher needs none: its batch claims already keep nodes from sending the
+ * same message twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduledJobs {
+
+    static final String LATE_PENALTIES = "late-penalties";
+    static final String DEADLINE_REMINDERS = "deadline-reminders";
+    static final String PENALTY_INDEX_RESYNC = "penalty-index-resync";
+    static final String EMAIL_OUTBOX = "email-outbox";
+    static final String REVOCATION_RESYNC = "revocation-resync";
+    static final String TOKEN_REVOCATION_REFRESH = "token-revocation-refresh";
+    static final String TOKEN_REVOCATION_PURGE = "token-revocation-purge";
+
+    private final ScheduledJobRunner jobRunner;
+    private final JobLeaseService jobLeaseService;
+    private final SchedulerService schedulerService;
+    private final DeadlineSchedulerService deadlineSchedulerService;
+    private final PenaltyDeadlineIndex penaltyDeadlineIndex;
+    private final ObjectProvider<EmailOutboxDispatcher> emailOutboxDispatcher;
+    private final UserRevocationList userRevocationList;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Scheduled(cron = "${app.scheduling.late-penalties.cron:0 * * * * *}") // Every minute
+    public void latePenalties() {
+        jobRunner.trigger(LATE_PENALTIES, () -> jobLeaseService.runExclusively(LATE_PENALTIES,
+                Duration.ofSeconds(30), Duration.ofMinutes(10), schedulerService::handleCron));
+    }
+
+    @Scheduled(cron = "${app.scheduling.deadline-reminders.cron:0 0 9 * * *}") // Every day at 9 AM
+    public void deadlineReminders() {
+        jobRunner.trigger(DEADLINE_REMINDERS, () -> jobLeaseService.runExclusively(DEADLINE_REMINDERS,
+                Duration.ofMinutes(10), Duration.ofHours(1), deadlineSchedulerService::checkDeadlinesAndSendReminders));
+    }
+
+    // Every node keeps its own deadline index; this picks up deadlines changed on other nodes
+    @Scheduled(fixedDelayString = "${app.scheduling.penalty-index.resync-interval-ms:600000}",
+            initialDelayString = "${app.scheduling.penalty-index.resync-interval-ms:600000}")
+    public void penaltyIndexResync() {
+        jobRunner.trigger(PENALTY_INDEX_RESYNC, penaltyDeadlineIndex::rebuild);
+    }
+
+    // Picks up users disabled or enabled on other nodes
+    @Scheduled(fixedDelayString = "${app.security.revocation.resync-interval-ms:5000}",
+            initialDelayString = "${app.security.revocation.resync-interval-ms:5000}")
+    public void revocationResync() {
+        jobRunner.trigger(REVOCATION_RESYNC, userRevocationList::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.refresh-interval-ms:2000}")
+    public void tokenRevocationRefresh() {
+        jobRunner.trigger(TOKEN_REVOCATION_REFRESH, tokenRevocationList::refresh);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${app.security.token-revocation.purge-interval-ms:3600000}")
+    public void tokenRevocationPurge() {
+        jobRunner.trigger(TOKEN_REVOCATION_PURGE, tokenRevocationList::purgeExpired);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void emailOutbox() {
+        emailOutboxDispatcher.ifAvailable(dispatcher -> jobRunner.trigger(EMAIL_OUTBOX, dispatcher::dispatch));
+    }
+}
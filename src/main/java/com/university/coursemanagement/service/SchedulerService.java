@@ -1,59 +1,110 @@
 package com.university.coursemanagement.service;
 
 import com.university.coursemanagement.entity.Assignment;
+import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.entity.Submission;
 import com.university.coursemanagement.repository.AssignmentRepository;
 import com.university.coursemanagement.repository.SubmissionRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SchedulerService {
 
+    private static final int ASSIGNMENT_CHUNK = 100;
+    private static final int NOTIFICATION_CHUNK = 500;
+
     private final AssignmentRepository assignmentRepository;
     private final SubmissionRepository submissionRepository;
+    private final CourseVersionService courseVersionService;
+    private final PenaltyDeadlineIndex penaltyDeadlineIndex;
+    private final LatePenaltyService latePenaltyService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired(required = false)
+    private EmailService emailService;
 
-    @Scheduled(cron = "* * * * *") // Every minute (for testing, change to appropriate schedule)
-    @Transactional
+    /**
+     * Penalizes late submissions of the assignments whose deadline passed since the last tick.
+     * Submissions made after the deadline are penalized when they are submitted, so this only
+     * catches submissions that became late because a deadline was moved back.
+     *
+     * Due assignments are processed ASSIGNMENT_CHUNK at a time, each chunk in its own short
+     * transaction. A chunk that fails goes back into the deadline index for the next tick.
+     */
     public void handleCron() {
-        log.debug("Running scheduled penalty job");
         LocalDateTime now = LocalDateTime.now();
-        
-        List<Assignment> assignments = assignmentRepository.findAll();
-        
-        for (Assignment assignment : assignments) {
-            if (assignment.getDeadline() == null || assignment.getPenaltyPerDay() == null) {
-                continue;
+        List<Long> due = penaltyDeadlineIndex.pollDue(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        log.debug("Running penalty job for {} assignments", due.size());
+
+        for (int i = 0; i < due.size(); i += ASSIGNMENT_CHUNK) {
+            List<Long> chunk = due.subList(i, Math.min(i + ASSIGNMENT_CHUNK, due.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> penalize(chunk, now));
+            } catch (RuntimeException e) {
+                log.error("Penalty job failed for assignments {}, retrying next tick", chunk, e);
+                chunk.forEach(id -> penaltyDeadlineIndex.schedule(id, now));
             }
-            
-            LocalDateTime deadline = assignment.getDeadline();
-            if (deadline.isBefore(now) && assignment.getPenaltyPerDay() > 0) {
-                List<Submission> submissions = submissionRepository.findByAssignmentId(assignment.getId());
-                
-                for (Submission submission : submissions) {
-                    if (!submission.getPenaltyApplied()) {
-                        LocalDateTime submittedAt = submission.getSubmittedAt();
-                        if (submittedAt.isAfter(deadline)) {
-                            long daysLate = java.time.Duration.between(deadline, submittedAt).toDays();
-                            if (daysLate > 0) {
-                                int penalty = (int) (daysLate * assignment.getPenaltyPerDay());
-                                submission.setPoints(Math.max(0, submission.getPoints() - penalty));
-                                submission.setPenaltyApplied(true);
-                                submissionRepository.save(submission);
-                            }
-                        }
-                    }
-                }
+        }
+    }
+
+    private void penalize(List<Long> assignmentIds, LocalDateTime now) {
+        for (Assignment assignment : assignmentRepository.findAllById(assignmentIds)) {
+            // Another node may have moved the deadline since it was indexed here
+            if (assignment.getDeadline() != null && assignment.getDeadline().isAfter(now)) {
+                penaltyDeadlineIndex.schedule(assignment.getId(), assignment.getDeadline());
+            } else {
+                applyLatePenalties(assignment);
             }
         }
     }
-}
 
+    private void applyLatePenalties(Assignment assignment) {
+        String runId = UUID.randomUUID().toString();
+        int penalized = latePenaltyService.applyLatePenalties(assignment, runId);
+        if (penalized == 0) {
+            return;
+        }
+        courseVersionService.bump(assignment.getCourse().getId());
+
+        if (emailService == null) {
+            return;
+        }
+        // Notices are queued in the penalty transaction, one page of submissions at a time,
+        // clearing the persistence context between pages so it does not grow with the run
+        Long after = 0L;
+        List<Submission> page;
+        do {
+            page = submissionRepository.findByPenaltyRunIdAfter(runId, after, PageRequest.of(0, NOTIFICATION_CHUNK));
+            for (Submission submission : page) {
+                long daysLate = Duration.between(assignment.getDeadline(), submission.getSubmittedAt()).toDays();
+                Student student = submission.getStudent();
+                emailService.sendLateSubmissionNotification(
+                        student.getEmail(),
+                        student.getName(),
+                        assignment.getTitle(),
+                        (int) (daysLate * assignment.getPenaltyPerDay())
+                );
+                after = submission.getId();
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } while (page.size() == NOTIFICATION_CHUNK);
+    }
+}
@@ -0,0 +1,154 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeStatsDTO;
+import com.university.coursemanagement.repository.projection.ScoreFrequencyView;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frequency table of non-negative integer scores (counts[score] = how many times it occurs).
+ * Scores are small bounded integers, so percentiles are read off the cumulative counts
+ * instead of sorting the individual values.
+ */
+final class ScoreDistribution {
+
+    private static final int HISTOGRAM_BUCKETS = 10;
+
+    private final long[] counts;
+    private final long total;
+    private final long sum;
+
+    private ScoreDistribution(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        long sum = 0;
+        for (int score = 0; score < counts.length; score++) {
+            total += counts[score];
+            sum += counts[score] * score;
+        }
+        this.total = total;
+        this.sum = sum;
+    }
+
+    static ScoreDistribution ofValues(int[] values) {
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        long[] counts = new long[max + 1];
+        for (int value : values) {
+            counts[Math.max(0, value)]++;
+        }
+        return new ScoreDistribution(counts);
+    }
+
+    static ScoreDistribution ofFrequencies(List<ScoreFrequencyView> frequencies) {
+        int max = 0;
+        for (ScoreFrequencyView frequency : frequencies) {
+            max = Math.max(max, frequency.getScore() != null ? frequency.getScore() : 0);
+        }
+        long[] counts = new long[max + 1];
+        for (ScoreFrequencyView frequency : frequencies) {
+            int score = frequency.getScore() != null ? Math.max(0, frequency.getScore()) : 0;
+            counts[score] += frequency.getFrequency();
+        }
+        return new ScoreDistribution(counts);
+    }
+
+    long getCount() {
+        return total;
+    }
+
+    Double getAverage() {
+        return total > 0 ? (double) sum / total : null;
+    }
+
+    Integer getMin() {
+        return total > 0 ? valueAt(0) : null;
+    }
+
+    Integer getMax() {
+        return total > 0 ? valueAt(total - 1) : null;
+    }
+
+    /**
+     * Percentile with linear interpolation between the two closest ranks.
+     */
+    Double percentile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        double rank = (total - 1) * q;
+        long lower = (long) Math.floor(rank);
+        int lowerValue = valueAt(lower);
+        if (lower + 1 >= total) {
+            return (double) lowerValue;
+        }
+        int upperValue = valueAt(lower + 1);
+        return lowerValue + (rank - lower) * (upperValue - lowerValue);
+    }
+
+    /**
+     * Splits 0..maxScore into equal-width buckets, the last one closed at maxScore
+     * (0-9, 10-19, ..., 90-100). Scores above maxScore land in the last bucket too.
+     */
+    List<GradeStatsDTO.HistogramBucketDTO> histogram(int maxScore) {
+        int upper = Math.max(maxScore, counts.length - 1);
+        int width = Math.max(1, (maxScore + HISTOGRAM_BUCKETS - 1) / HISTOGRAM_BUCKETS);
+        int bucketCount = Math.max(1, (maxScore + width - 1) / width);
+
+        long[] bucketCounts = new long[bucketCount];
+        for (int score = 0; score < counts.length; score++) {
+            bucketCounts[Math.min(score / width, bucketCount - 1)] += counts[score];
+        }
+
+        List<GradeStatsDTO.HistogramBucketDTO> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(GradeStatsDTO.HistogramBucketDTO.builder()
+                    .from(i * width)
+                    .to(i == bucketCount - 1 ? upper : (i + 1) * width - 1)
+                    .count(bucketCounts[i])
+                    .build());
+        }
+        return buckets;
+    }
+
+    Map<String, Long> letterGrades() {
+        Map<String, Long> letters = new LinkedHashMap<>();
+        for (String letter : new String[]{"A", "B", "C", "D", "F"}) {
+            letters.put(letter, 0L);
+        }
+        for (int score = 0; score < counts.length; score++) {
+            if (counts[score] > 0) {
+                letters.merge(GradeBookAssembler.letterGrade(score), counts[score], Long::sum);
+            }
+        }
+        return letters;
+    }
+
+    void applyTo(GradeStatsDTO stats, int maxScore) {
+        stats.setCount(total);
+        stats.setAverage(getAverage());
+        stats.setMedian(percentile(0.5));
+        stats.setP10(percentile(0.1));
+        stats.setP90(percentile(0.9));
+        stats.setMin(getMin());
+        stats.setMax(getMax());
+        stats.setHistogram(histogram(maxScore));
+    }
+
+    // Score of the value at the given 0-based rank in ascending order
+    private int valueAt(long rank) {
+        long seen = 0;
+        for (int score = 0; score < counts.length; score++) {
+            seen += counts[score];
+            if (seen > rank) {
+                return score;
+            }
+        }
+        return counts.length - 1;
+    }
+}
@@ -1,24 +1,35 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.config.CacheWarmer;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.dto.StudentDTO;
 import com.university.coursemanagement.entity.Course;
 import com.university.coursemanagement.entity.Student;
 import com.university.coursemanagement.exception.ResourceNotFoundException;
 import com.university.coursemanagement.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class StudentService {
+public class StudentService implements CacheWarmer {
 
     private final StudentRepository studentRepository;
     private final CourseService courseService;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
 
+    @CachePut(value = CacheConfig.STUDENTS, key = "#result.id")
     @Transactional
     public StudentDTO createStudent(StudentDTO dto) {
         if (studentRepository.existsByEmail(dto.getEmail())) {
@@ -40,12 +51,13 @@ public class StudentService {
     }
 
     @Transactional(readOnly = true)
-    public List<StudentDTO> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<StudentDTO> getAllStudents(Long after, int limit) {
+        List<Student> students = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                Keyset.after(after), Keyset.limit(limit));
+        return Keyset.page(students, limit, Student::getId, this::toDTO);
     }
 
+    @Cacheable(value = CacheConfig.STUDENTS, key = "#id")
     @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
         Student student = getStudentEntity(id);
@@ -60,6 +72,7 @@ public class StudentService {
         return toDTO(student);
     }
 
+    @CachePut(value = CacheConfig.STUDENTS, key = "#id")
     @Transactional
     public StudentDTO updateStudent(Long id, StudentDTO dto) {
         Student student = getStudentEntity(id);
@@ -76,15 +89,22 @@ public class StudentService {
         student.setName(name);
 
         student = studentRepository.save(student);
+        gradeBookSummaryService.updateStudentDetails(student);
+        columnarGradeBookCache.evictAll();
+        courseVersionService.bumpStudentCourses(student.getId());
         return toDTO(student);
     }
 
+    @CacheEvict(value = CacheConfig.STUDENTS, key = "#id")
     @Transactional
     public void deleteStudent(Long id) {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
+        // Before the delete, while the enrollments still tell which courses the student was in
+        courseVersionService.bumpStudentCourses(id);
         studentRepository.deleteById(id);
+        columnarGradeBookCache.evictAll();
     }
 
     @Transactional
@@ -113,6 +133,31 @@ public class StudentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with code: " + studentCode));
     }
 
+    @Override
+    public String getCacheName() {
+        return CacheConfig.STUDENTS;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int warm(Cache cache, int limit) {
+        int warmed = 0;
+        long after = 0;
+        while (warmed < limit) {
+            List<Student> chunk = studentRepository.findByIdGreaterThanOrderByIdAsc(
+                    after, PageRequest.of(0, Math.min(Keyset.MAX_LIMIT, limit - warmed)));
+            for (Student row : chunk) {
+                cache.put(row.getId(), toDTO(row));
+                after = row.getId();
+            }
+            warmed += chunk.size();
+            if (chunk.isEmpty()) {
+                break;
+            }
+        }
+        return warmed;
+    }
+
     private StudentDTO toDTO(Student student) {
         // Split name into firstName and lastName for compatibility
         String[] nameParts = student.getName() != null ? student.getName().split(" ", 2) : new String[]{"", ""};
@@ -1,6 +1,10 @@
 package com.university.coursemanagement.service;
 
+import com.university.coursemanagement.entity.Enrollment;
 import com.university.coursemanagement.entity.Student;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.CourseRepository;
+import com.university.coursemanagement.repository.EnrollmentRepository;
 import com.university.coursemanagement.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,6 +17,11 @@ import java.util.Optional;
 public class StudentsService {
 
     private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeBookSummaryService gradeBookSummaryService;
+    private final ColumnarGradeBookCache columnarGradeBookCache;
+    private final CourseVersionService courseVersionService;
 
     @Transactional
     public Student findOrCreateByEmail(String email, String name) {
@@ -28,5 +37,23 @@ public class StudentsService {
 
         return studentRepository.save(student);
     }
+
+    @Transactional
+    public void enroll(Long courseId, Student student) {
+        // Create enrollment if it doesn't exist
+        if (enrollmentRepository.existsByCourseIdAndStudentId(courseId, student.getId())) {
+            return;
+        }
+
+        Enrollment enrollment = Enrollment.builder()
+                .course(courseRepository.findById(courseId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Course not found")))
+                .student(student)
+                .build();
+        enrollmentRepository.save(enrollment);
+        gradeBookSummaryService.refresh(courseId, student.getId());
+        columnarGradeBookCache.evict(courseId);
+        courseVersionService.bump(courseId);
+    }
 }
 
@@ -0,0 +1,384 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.dto.AuthDTO;
+import com.university.coursemanagement.dto.BulkRegistrationDTO;
+import com.university.coursemanagement.entity.UserRole;
+import com.university.coursemanagement.repository.UserRepository;
+import com.university.coursemanagement.repository.projection.UserIdentityView;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Creates user accounts in bulk from a CSV or JSON stream, for example at term start.
+ *
+ * The input is read and processed chunkSize users at a time. Per chunk, duplicates are
+ * found with one query for all usernames and e-mails, the BCrypt hashes are computed on
+ * a bounded pool of hashing threads, and the accounts are inserted with one JDBC batch in
+ * a short transaction of their own. Every input row gets a result, so a bad row never
+ * stops the rest of the upload.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, role, enabled) VALUES (?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final ExecutorService hashExecutor;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ObjectMapper objectMapper,
+                                   Validator validator,
+                                   @Value("${app.users.bulk.chunk-size:500}") int chunkSize,
+                                   @Value("${app.users.bulk.hash-threads:0}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        // When the queue is full the uploading thread hashes too, which slows the upload down instead of failing it
+        this.hashExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public BulkRegistrationDTO provision(InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        BulkRegistrationDTO result = new BulkRegistrationDTO();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int rows = 0;
+
+        RowReader reader = format == Format.JSON ? new JsonRowReader(input) : new CsvRowReader(input);
+        try {
+            for (Row row = reader.next(rows + 1); row != null; row = reader.next(rows + 1)) {
+                rows++;
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    process(chunk, seenUsernames, seenEmails, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Rows read before the damage are still provisioned; the rest of the input is lost
+            Row broken = new Row(rows + 1, null);
+            broken.reject(BulkRegistrationDTO.Status.INVALID, "Malformed input: " + e.getMessage());
+            chunk.add(broken);
+        }
+        process(chunk, seenUsernames, seenEmails, result);
+
+        log.info("Bulk registration of {} rows: {} created, {} failed in {} ms", result.getResults().size(),
+                result.getCreated(), result.getFailed(), (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    private void process(List<Row> chunk, Set<String> seenUsernames, Set<String> seenEmails, BulkRegistrationDTO result) {
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.status == null) {
+                validate(row);
+            }
+            if (row.status != null) {
+                continue;
+            }
+            String username = row.request.getUsername();
+            String email = row.request.getEmail();
+            if (seenUsernames.contains(username) || seenEmails.contains(email)) {
+                row.reject(BulkRegistrationDTO.Status.DUPLICATE, "Username or email repeated in the input");
+                continue;
+            }
+            seenUsernames.add(username);
+            seenEmails.add(email);
+            candidates.add(row);
+        }
+
+        rejectTaken(candidates);
+        candidates.removeIf(row -> row.status != null);
+        hashPasswords(candidates);
+        insert(candidates);
+
+        for (Row row : chunk) {
+            if (row.status == BulkRegistrationDTO.Status.CREATED) {
+                result.setCreated(result.getCreated() + 1);
+            } else {
+                result.setFailed(result.getFailed() + 1);
+            }
+            result.getResults().add(BulkRegistrationDTO.RowResultDTO.builder()
+                    .row(row.index)
+                    .username(row.request != null ? row.request.getUsername() : null)
+                    .status(row.status)
+                    .message(row.message)
+                    .build());
+        }
+    }
+
+    private void validate(Row row) {
+        Set<ConstraintViolation<AuthDTO.RegisterRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.reject(BulkRegistrationDTO.Status.INVALID, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return;
+        }
+        try {
+            row.role = row.request.getRole() != null && !row.request.getRole().isBlank()
+                    ? UserRole.valueOf(row.request.getRole().trim().toUpperCase(Locale.ROOT)) : UserRole.STUDENT;
+        } catch (IllegalArgumentException e) {
+            row.reject(BulkRegistrationDTO.Status.INVALID, "Unknown role: " + row.request.getRole());
+        }
+    }
+
+    // One query for the whole chunk instead of two exists checks per user
+    private void rejectTaken(List<Row> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> usernames = candidates.stream().map(row -> row.request.getUsername()).collect(Collectors.toSet());
+        Set<String> emails = candidates.stream().map(row -> row.request.getEmail()).collect(Collectors.toSet());
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserIdentityView taken : userRepository.findTaken(usernames, emails)) {
+            takenUsernames.add(taken.getUsername());
+            takenEmails.add(taken.getEmail());
+        }
+        for (Row row : candidates) {
+            if (takenUsernames.contains(row.request.getUsername())) {
+                row.reject(BulkRegistrationDTO.Status.DUPLICATE, "Username already exists");
+            } else if (takenEmails.contains(row.request.getEmail())) {
+                row.reject(BulkRegistrationDTO.Status.DUPLICATE, "Email already exists");
+            }
+        }
+    }
+
+    private void hashPasswords(List<Row> candidates) {
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            String password = row.request.getPassword();
+            hashes.add(hashExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+        try {
+            for (int i = 0; i < candidates.size(); i++) {
+                candidates.get(i).passwordHash = hashes.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hashes.forEach(hash -> hash.cancel(true));
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void insert(List<Row> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_USER, candidates, candidates.size(), (statement, row) -> {
+                        statement.setString(1, row.request.getUsername());
+                        statement.setString(2, row.passwordHash);
+                        statement.setString(3, row.request.getEmail());
+                        statement.setString(4, row.role.name());
+                        statement.setBoolean(5, true);
+                    }));
+            candidates.forEach(row -> row.status = BulkRegistrationDTO.Status.CREATED);
+        } catch (DuplicateKeyException e) {
+            // Someone registered one of these users since the duplicate check; retry one by one
+            for (Row row : candidates) {
+                try {
+                    jdbcTemplate.update(INSERT_USER, row.request.getUsername(), row.passwordHash,
+                            row.request.getEmail(), row.role.name(), true);
+                    row.status = BulkRegistrationDTO.Status.CREATED;
+                } catch (DuplicateKeyException duplicate) {
+                    row.reject(BulkRegistrationDTO.Status.DUPLICATE, "Username or email already exists");
+                }
+            }
+        }
+    }
+
+    private static final class Row {
+        private final int index;
+        private final AuthDTO.RegisterRequest request;
+        private UserRole role;
+        private String passwordHash;
+        private BulkRegistrationDTO.Status status;
+        private String message;
+
+        private Row(int index, AuthDTO.RegisterRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        private void reject(BulkRegistrationDTO.Status status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+    }
+
+    private interface RowReader {
+        // Returns null at the end of the input
+        Row next(int index) throws IOException;
+    }
+
+    /**
+     * Reads a header naming the username, password, email and optional role columns,
+     * then one user per line. Quoted values may contain commas and doubled quotes.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private CsvRowReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = reader.readLine();
+            if (header != null) {
+                List<String> names = parseCsvLine(header.replace("\uFEFF", ""));
+                for (int i = 0; i < names.size(); i++) {
+                    columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            if (!columns.keySet().containsAll(List.of("username", "password", "email"))) {
+                throw new IllegalArgumentException("CSV header must name the username, password and email columns");
+            }
+        }
+
+        @Override
+        public Row next(int index) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            List<String> values = parseCsvLine(line);
+            if (values.size() != columns.size()) {
+                Row row = new Row(index, null);
+                row.reject(BulkRegistrationDTO.Status.INVALID,
+                        "Expected " + columns.size() + " columns but found " + values.size());
+                return row;
+            }
+            return new Row(index, AuthDTO.RegisterRequest.builder()
+                    .username(value(values, "username"))
+                    .password(values.get(columns.get("password")))
+                    .email(value(values, "email"))
+                    .role(value(values, "role"))
+                    .build());
+        }
+
+        private String value(List<String> values, String column) {
+            Integer i = columns.get(column);
+            return i != null ? values.get(i).trim() : null;
+        }
+    }
+
+    /**
+     * Reads a JSON array of register requests one element at a time.
+     */
+    private final class JsonRowReader implements RowReader {
+
+        private final JsonParser parser;
+
+        private JsonRowReader(InputStream input) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of users");
+            }
+        }
+
+        @Override
+        public Row next(int index) throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            return new Row(index, objectMapper.readValue(parser, AuthDTO.RegisterRequest.class));
+        }
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -2,6 +2,7 @@ package com.university.coursemanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.coursemanagement.dto.CourseDTO;
+import com.university.coursemanagement.dto.KeysetPage;
 import com.university.coursemanagement.service.CourseService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +12,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -29,6 +34,18 @@ class CourseControllerTest {
     @MockBean
     private com.university.coursemanagement.service.GradeService gradeService;
 
+    @MockBean
+    private com.university.coursemanagement.service.GradeBookExportService gradeBookExportService;
+
+    @MockBean
+    private com.university.coursemanagement.service.ColumnarGradeBookCache columnarGradeBookCache;
+
+    @MockBean
+    private com.university.coursemanagement.service.GradeStatsService gradeStatsService;
+
+    @MockBean
+    private com.university.coursemanagement.service.CourseVersionService courseVersionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,9 +99,44 @@ class CourseControllerTest {
     @Test
     @WithMockUser
     void testGetAllCourses() throws Exception {
+        when(courseService.getAllCourses(null, 100)).thenReturn(KeysetPage.<CourseDTO>builder()
+                .items(List.of())
+                .limit(100)
+                .build());
+
         mockMvc.perform(get("/api/courses"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"));
     }
-}
 
+    @Test
+    @WithMockUser
+    void testGetAllCourses_LinksNextPage() throws Exception {
+        CourseDTO course = CourseDTO.builder().id(7L).name("Test Course").code("TC123").build();
+        when(courseService.getAllCourses(5L, 1)).thenReturn(KeysetPage.<CourseDTO>builder()
+                .items(List.of(course))
+                .limit(1)
+                .nextCursor(7L)
+                .build());
+
+        mockMvc.perform(get("/api/courses").param("after", "5").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7L))
+                .andExpect(header().string("Link", "<http://localhost/api/courses?after=7&limit=1>; rel=\"next\""));
+    }
 
+    @Test
+    @WithMockUser
+    void testGetGradeBook_NotModifiedWhenEtagMatches() throws Exception {
+        when(courseVersionService.courseEtag(1L)).thenReturn("\"v1\"");
+
+        mockMvc.perform(get("/api/courses/1/gradebook").header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""));
+        verify(gradeService, never()).getGradeBook(1L);
+
+        mockMvc.perform(get("/api/courses/1/gradebook").header("If-None-Match", "\"v0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""));
+    }
+}
@@ -0,0 +1,69 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.repository.RevokedTokenRepository;
+import com.university.coursemanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of authenticating a request with and without the verified-token cache, for a
+ * handful of clients each repeating its token. Run with
+ * mvn test -Dtest=JwtAuthenticationFilterBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+    private static final int CLIENTS = 50;
+    private static final int WARM_UP = 100_000;
+    private static final int REQUESTS = 500_000;
+
+    @Test
+    void benchmarkFilterWithAndWithoutTokenCache() throws Exception {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 3_600_000);
+        UserRevocationList revocationList = new UserRevocationList(mock(UserRepository.class));
+        TokenRevocationList tokenRevocationList = new TokenRevocationList(mock(RevokedTokenRepository.class), 100_000);
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/api/courses");
+            requests[i].addHeader("Authorization", "Bearer " + tokenProvider.generateToken("user" + i, "STUDENT"));
+        }
+
+        JwtAuthenticationFilter uncached = new JwtAuthenticationFilter(tokenProvider, null, revocationList, tokenRevocationList);
+        JwtAuthenticationFilter cached = new JwtAuthenticationFilter(
+                tokenProvider, new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), 10_000), revocationList,
+                tokenRevocationList);
+
+        run(uncached, requests, WARM_UP);
+        run(cached, requests, WARM_UP);
+        double uncachedNanos = run(uncached, requests, REQUESTS);
+        double cachedNanos = run(cached, requests, REQUESTS);
+
+        System.out.printf("JwtAuthenticationFilter: %.0f ns/request without token cache, %.0f ns/request with it (%.1fx)%n",
+                uncachedNanos, cachedNanos, uncachedNanos / cachedNanos);
+    }
+
+    private static double run(JwtAuthenticationFilter filter, MockHttpServletRequest[] requests, int count) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            SecurityContextHolder.clearContext();
+            // OncePerRequestFilter marks each request as filtered, so clear the marker first
+            MockHttpServletRequest request = requests[i % requests.length];
+            request.removeAttribute(filter.getClass().getName() + ".FILTERED");
+            filter.doFilter(request, response, new MockFilterChain());
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+        return (System.nanoTime() - started) / (double) count;
+    }
+}
@@ -0,0 +1,113 @@
+package com.university.coursemanagement.security;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.coursemanagement.repository.RevokedTokenRepository;
+import com.university.coursemanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 60_000);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserRevocationList revocationList;
+    private TokenRevocationList tokenRevocationList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findDisabledUsernames()).thenReturn(List.of("blocked"));
+        revocationList = new UserRevocationList(userRepository);
+        tokenRevocationList = new TokenRevocationList(mock(RevokedTokenRepository.class), 1000);
+        filter = new JwtAuthenticationFilter(tokenProvider, null, revocationList, tokenRevocationList);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testPrincipalBuiltFromClaimsWithoutLoadingTheUser() throws Exception {
+        Authentication authentication = authenticate(tokenProvider.generateToken("teacher", "INSTRUCTOR"));
+
+        assertNotNull(authentication);
+        assertEquals("teacher", authentication.getName());
+        assertEquals(List.of("ROLE_INSTRUCTOR"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testRejectsRevokedUsersAndForeignTokens() throws Exception {
+        assertNull(authenticate(tokenProvider.generateToken("blocked", "STUDENT")));
+
+        String token = tokenProvider.generateToken("student", "STUDENT");
+        revocationList.revoke("student");
+        assertNull(authenticate(token));
+        revocationList.restore("student");
+        assertNotNull(authenticate(token));
+
+        JwtTokenProvider otherKey = new JwtTokenProvider(SECRET.replace('t', 'x'), 60_000);
+        assertNull(authenticate(otherKey.generateToken("student", "ADMIN")));
+        assertNull(authenticate("not-a-token"));
+    }
+
+    @Test
+    void testRepeatedTokensVerifiedOnceButStillRevocable() throws Exception {
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenProvider, new SimpleMeterRegistry(), 100);
+        filter = new JwtAuthenticationFilter(tokenProvider, tokenCache, revocationList, tokenRevocationList);
+        String token = tokenProvider.generateToken("teacher", "INSTRUCTOR");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("teacher", authenticate(token).getName());
+        }
+        assertNull(authenticate("not-a-token"));
+        assertNull(authenticate("not-a-token"));
+
+        CacheStats stats = tokenCache.getCache().stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(3, stats.missCount());
+        assertEquals(1, tokenCache.getCache().estimatedSize());
+
+        revocationList.revoke("teacher");
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void testRevokedTokenRejectedWhileOtherTokensOfTheUserStillWork() throws Exception {
+        String revoked = tokenProvider.generateToken("student", "STUDENT");
+        String other = tokenProvider.generateToken("student", "STUDENT");
+
+        tokenRevocationList.add(tokenProvider.parseToken(revoked).getId(), LocalDateTime.now().plusHours(1));
+
+        assertNull(authenticate(revoked));
+        assertNotNull(authenticate(other));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
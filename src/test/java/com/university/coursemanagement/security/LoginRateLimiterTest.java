@@ -0,0 +1,47 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    // 3 attempts at once per user, then one every 10 s; 5 at once per address, then one every 2 s
+    private final LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, 3, 6, 5, 30, 1024, now::get);
+
+    @Test
+    void testUsernameBucketEmptiesAfterBurstAndRefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("alice", "10.0.0." + i);
+        }
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("alice", "10.0.0.9"));
+        assertEquals(10, rejected.getRetryAfterSeconds());
+        limiter.acquire("bob", "10.0.0.9");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.acquire("alice", "10.0.0.10");
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("alice", "10.0.0.11"));
+        assertEquals(2, meterRegistry.get("auth.login.rejected").tag("reason", "username").counter().count());
+    }
+
+    @Test
+    void testAddressBucketLimitsAttemptsAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user" + i, "192.168.1.1");
+        }
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("user9", "192.168.1.1"));
+        assertEquals(2, rejected.getRetryAfterSeconds());
+        // The rejected attempt did not use up a token of its username
+        limiter.acquire("user9", "192.168.1.2");
+        assertEquals(1, meterRegistry.get("auth.login.rejected").tag("reason", "address").counter().count());
+    }
+}
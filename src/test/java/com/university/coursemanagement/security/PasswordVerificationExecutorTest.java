@@ -0,0 +1,56 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerificationExecutorTest {
+
+    @Test
+    void testLoginsBeyondQueueCapacityAreShed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AuthenticationManager slowManager = authentication -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new UsernamePasswordAuthenticationToken(authentication.getName(), null, List.of());
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordVerificationExecutor executor = new PasswordVerificationExecutor(slowManager, meterRegistry, 1, 2, Duration.ofSeconds(3));
+        try {
+            CompletableFuture<Authentication> running = executor.authenticate("a", "pw");
+            // Wait until the first check holds the only thread, so the next two are queued
+            while (meterRegistry.get("auth.login.active").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+            CompletableFuture<Authentication> queued1 = executor.authenticate("b", "pw");
+            CompletableFuture<Authentication> queued2 = executor.authenticate("c", "pw");
+            assertEquals(2, meterRegistry.get("auth.login.queued").gauge().value());
+
+            TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                    () -> executor.authenticate("d", "pw"));
+            assertEquals(3, rejected.getRetryAfterSeconds());
+            assertEquals(1, meterRegistry.get("auth.login.rejected").tag("reason", "overload").counter().count());
+
+            release.countDown();
+            assertEquals("a", running.get(5, TimeUnit.SECONDS).getName());
+            assertEquals("c", queued2.get(5, TimeUnit.SECONDS).getName());
+            assertEquals("b", queued1.get(5, TimeUnit.SECONDS).getName());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.coursemanagement.security;
+
+import com.university.coursemanagement.entity.RevokedToken;
+import com.university.coursemanagement.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationListTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+    }
+
+    @Test
+    void testRevocationsReachOtherNodesAndExpiredOnesArePurged() {
+        LocalDateTime now = LocalDateTime.now();
+        revoke("active-1", now.plusHours(1));
+        revoke("expired", now.minusMinutes(1));
+        TokenRevocationList node = new TokenRevocationList(revokedTokenRepository, 1000);
+        assertTrue(node.isRevoked("active-1"));
+        assertFalse(node.isRevoked("expired"));
+        assertFalse(node.isRevoked("never-revoked"));
+
+        // Revoked on another node after this one loaded its list
+        revoke("active-2", now.plusHours(1));
+        assertFalse(node.isRevoked("active-2"));
+        node.refresh();
+        assertTrue(node.isRevoked("active-2"));
+
+        node.add("local", now.minusSeconds(1));
+        node.purgeExpired();
+        assertEquals(2, revokedTokenRepository.count());
+        assertEquals(2, node.size());
+        assertFalse(node.isRevoked("local"));
+        assertTrue(node.isRevoked("active-1"));
+    }
+
+    @Test
+    void testBloomFilterFalsePositiveRateAtExpectedSize() {
+        TokenRevocationList.BloomFilter filter = new TokenRevocationList.BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    private void revoke(String jti, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .username("student")
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
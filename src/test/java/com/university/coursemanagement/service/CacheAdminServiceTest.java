@@ -0,0 +1,100 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.dto.CacheStatsDTO;
+import com.university.coursemanagement.dto.CourseDTO;
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.CourseFormula;
+import com.university.coursemanagement.exception.ResourceNotFoundException;
+import com.university.coursemanagement.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, CacheAdminService.class, CourseService.class, StudentService.class, CoursePageRefresher.class,
+        ColumnarGradeBookCache.class, CourseVersionService.class, GradeBookSummaryService.class, GradeBookAssembler.class})
+@TestPropertySource(properties = "app.cache.coursePages.spec=maximumSize=10,expireAfterWrite=10m,refreshAfterWrite=1s")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheAdminServiceTest {
+
+    @Autowired
+    private CacheAdminService cacheAdminService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        cacheAdminService.clear(CacheConfig.COURSES);
+        cacheAdminService.clear(CacheConfig.COURSE_PAGES);
+    }
+
+    @Test
+    void testWarmReportAndClearCourses() {
+        for (int i = 1; i <= 3; i++) {
+            saveCourse("CS80" + i);
+        }
+        Long firstId = courseRepository.findAllIds().get(0);
+
+        assertEquals(3, cacheAdminService.warm(CacheConfig.COURSES));
+        courseService.getCourseById(firstId);
+
+        CacheStatsDTO stats = cacheAdminService.getStats(CacheConfig.COURSES);
+        assertEquals(3, stats.getEstimatedSize());
+        assertEquals(1000, stats.getMaximumSize());
+        assertEquals(1, stats.getHits());
+        assertEquals(0, stats.getMisses());
+        assertTrue(stats.isWarmable());
+
+        cacheAdminService.clear(CacheConfig.COURSES);
+        assertEquals(0, cacheAdminService.getStats(CacheConfig.COURSES).getEstimatedSize());
+        assertThrows(IllegalArgumentException.class, () -> cacheAdminService.warm(CacheConfig.FORMULAS));
+        assertThrows(ResourceNotFoundException.class, () -> cacheAdminService.getStats("unknown"));
+    }
+
+    @Test
+    void testCatalogWarmedAndRefreshedAheadOfExpiry() throws InterruptedException {
+        saveCourse("CS811");
+        assertEquals(1, cacheAdminService.warm(CacheConfig.COURSE_PAGES));
+        assertEquals(List.of("CS811"), catalogCodes());
+
+        // Not evicted: only a refresh can make the second course show up
+        saveCourse("CS812");
+        Thread.sleep(1100);
+        assertEquals(List.of("CS811"), catalogCodes());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (catalogCodes().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of("CS811", "CS812"), catalogCodes());
+    }
+
+    private void saveCourse(String code) {
+        courseRepository.save(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+    }
+
+    private List<String> catalogCodes() {
+        return courseService.getAllCourses(null, CoursePageRefresher.CATALOG_PAGE_SIZE).getItems().stream()
+                .map(CourseDTO::getCode)
+                .collect(Collectors.toList());
+    }
+}
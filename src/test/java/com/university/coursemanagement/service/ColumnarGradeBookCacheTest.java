@@ -0,0 +1,168 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.dto.GradeBookCacheMetricsDTO;
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.dto.GradeDTO;
+import com.university.coursemanagement.dto.GradeTotalDTO;
+import com.university.coursemanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ColumnarGradeBookCache.class, CourseVersionService.class, GradeService.class, GradeBookSummaryService.class, GradeBookAssembler.class,
+        StudentService.class, AssignmentService.class, PenaltyDeadlineIndex.class, ExamService.class, CourseService.class, GradingFormulaService.class,
+        CacheConfig.class, CoursePageRefresher.class})
+@TestPropertySource(properties = {
+        "app.gradebook.columnar-cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ColumnarGradeBookCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ColumnarGradeBookCache cache;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeBookSummaryService summaryService;
+
+    @Autowired
+    private CourseVersionService courseVersionService;
+
+    @Test
+    void testGetGradeBook_MatchesSummariesAndServesHitsWithoutSession() {
+        Course course = seedAndCommit("CS601");
+        GradeBookDTO expected = summaryService.getGradeBook(course);
+
+        assertGradeBooksEqual(expected, gradeService.getGradeBook(course.getId()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        GradeBookDTO cached = gradeService.getGradeBook(course.getId());
+        List<GradeTotalDTO> totals = gradeService.getGradeTotals(course.getId());
+
+        assertEquals(0, statistics.getSessionOpenCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertGradeBooksEqual(expected, cached);
+        assertEquals(2, totals.size());
+        assertEquals(67, totals.get(0).getTotalPoints());
+        assertEquals("D", totals.get(0).getFinalGrade());
+        assertEquals(0, totals.get(1).getTotalPoints());
+    }
+
+    @Test
+    void testCreateGrade_UpdatesCachedRowInPlace() {
+        Course course = seedAndCommit("CS602");
+        GradeBookDTO before = gradeService.getGradeBook(course.getId());
+        Long bobId = before.getStudentGrades().get(1).getStudentId();
+        Long labId = before.getStudentGrades().get(0).getAssignmentGrades().get(0).getAssignmentId();
+        long missesBefore = cache.getMetrics().getMisses();
+
+        gradeService.createGrade(GradeDTO.builder()
+                .studentId(bobId)
+                .assignmentId(labId)
+                .points(6)
+                .submittedAt(LocalDateTime.now())
+                .build());
+
+        GradeBookDTO.StudentGradeDTO bob = gradeService.getGradeBook(course.getId()).getStudentGrades().get(1);
+        assertEquals(6, bob.getTotalPoints());
+        assertEquals(1, bob.getAssignmentGrades().size());
+        assertEquals("F", bob.getFinalGrade());
+        assertEquals(missesBefore, cache.getMetrics().getMisses());
+
+        GradeBookCacheMetricsDTO.CourseEntryDTO entry = cache.getMetrics().getCourses().stream()
+                .filter(c -> c.getCourseId().equals(course.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, entry.getStudents());
+        assertEquals(2, entry.getItems());
+        assertTrue(entry.getEstimatedBytes() > 0);
+    }
+
+    @Test
+    void testWriteOnAnotherNode_ReloadsOnceItsVersionIsSeen() {
+        Course course = seedAndCommit("CS603");
+        GradeBookDTO before = gradeService.getGradeBook(course.getId());
+        Long bobId = before.getStudentGrades().get(1).getStudentId();
+        String etagBefore = courseVersionService.courseEtag(course.getId());
+
+        // Another node grades Bob: summary and version change in the database, not in this cache
+        TestTransaction.start();
+        Assignment lab = entityManager.find(Assignment.class, before.getStudentGrades().get(0).getAssignmentGrades().get(0).getAssignmentId());
+        entityManager.persist(Grade.builder().student(entityManager.find(Student.class, bobId)).assignment(lab).points(8).build());
+        entityManager.flush();
+        summaryService.refresh(course.getId(), bobId);
+        courseVersionService.bump(course.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        String etagAfter = courseVersionService.courseEtag(course.getId());
+        assertNotEquals(etagBefore, etagAfter);
+        assertEquals(8, gradeService.getGradeBook(course.getId()).getStudentGrades().get(1).getTotalPoints());
+    }
+
+    private void assertGradeBooksEqual(GradeBookDTO expected, GradeBookDTO actual) {
+        assertEquals(expected.getCourseCode(), actual.getCourseCode());
+        assertEquals(expected.getStudentGrades().size(), actual.getStudentGrades().size());
+        for (int i = 0; i < expected.getStudentGrades().size(); i++) {
+            assertEquals(expected.getStudentGrades().get(i), actual.getStudentGrades().get(i));
+        }
+    }
+
+    // Cache updates run after commit, so the seed data is committed rather than rolled back
+    private Course seedAndCommit(String code) {
+        Course course = entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment lab = entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab 1")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+        Exam exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+        Student ann = entityManager.persist(Student.builder().email("ann@" + code + ".edu").name("Ann").build());
+        Student bob = entityManager.persist(Student.builder().email("bob@" + code + ".edu").name("Bob").build());
+        entityManager.persist(Enrollment.builder().course(course).student(ann).build());
+        entityManager.persist(Enrollment.builder().course(course).student(bob).build());
+        entityManager.persist(Grade.builder().student(ann).assignment(lab).points(9).isLate(true).penaltyApplied(1).build());
+        entityManager.persist(Grade.builder().student(ann).exam(exam).points(58).build());
+        entityManager.flush();
+        courseVersionService.create(course.getId());
+        summaryService.rebuild(course.getId());
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        return course;
+    }
+}
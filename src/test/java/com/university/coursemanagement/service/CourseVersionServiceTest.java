@@ -0,0 +1,74 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.Course;
+import com.university.coursemanagement.entity.CourseFormula;
+import com.university.coursemanagement.repository.CourseVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CourseVersionService.class, ColumnarGradeBookCache.class, GradeBookSummaryService.class, GradeBookAssembler.class})
+class CourseVersionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseVersionService courseVersionService;
+
+    @Autowired
+    private CourseVersionRepository courseVersionRepository;
+
+    @Test
+    void testEtagsFollowStoredVersions() {
+        String empty = courseVersionService.catalogEtag();
+        Course course = persistCourse("CS1101");
+        courseVersionService.create(course.getId());
+        assertEquals("\"c" + course.getId() + ".0\"", courseVersionService.courseEtag(course.getId()));
+        String catalog = courseVersionService.catalogEtag();
+        assertNotEquals(empty, catalog);
+
+        assertEquals(1, courseVersionService.bump(course.getId()));
+        assertEquals(2, courseVersionService.bump(course.getId()));
+        assertEquals("\"c" + course.getId() + ".2\"", courseVersionService.courseEtag(course.getId()));
+        // Gradebook writes leave the listing alone
+        assertEquals(catalog, courseVersionService.catalogEtag());
+
+        // A write made by another node only shows up in the table
+        courseVersionRepository.increment(course.getId());
+        assertEquals("\"c" + course.getId() + ".3\"", courseVersionService.courseEtag(course.getId()));
+
+        courseVersionService.bumpCatalog();
+        assertNotEquals(catalog, courseVersionService.catalogEtag());
+
+        entityManager.remove(course);
+        entityManager.flush();
+        assertEquals(0, courseVersionService.bump(course.getId()));
+    }
+
+    @Test
+    void testCreateMissingVersions_AddsRowsOfCoursesCreatedOutsideTheApplication() {
+        Course course = persistCourse("CS1103");
+        assertEquals(0, courseVersionService.bump(course.getId()));
+
+        courseVersionService.createMissingVersions();
+        courseVersionService.createMissingVersions();
+
+        assertEquals(1, courseVersionService.bump(course.getId()));
+    }
+
+    private Course persistCourse(String code) {
+        Course course = entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        entityManager.flush();
+        return course;
+    }
+}
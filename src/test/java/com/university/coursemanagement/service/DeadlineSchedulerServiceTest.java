@@ -0,0 +1,114 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(DeadlineSchedulerService.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.scheduling.deadline-reminders.chunk-size=2"
+})
+class DeadlineSchedulerServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DeadlineSchedulerService deadlineSchedulerService;
+
+    @MockBean
+    private EmailService emailService;
+
+    @Test
+    void testSendReminders_OneDigestPerStudentWithoutSubmissionInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        Course course = persistCourse("CS1101");
+        Course other = persistCourse("CS1102");
+        Assignment dueTomorrow = persistAssignment(course, "Lab 1", now.plusHours(20));
+        persistAssignment(course, "Lab 2", now.plusDays(3));
+        Assignment otherDue = persistAssignment(other, "Essay", now.plusHours(10));
+        Assignment otherQuiz = persistAssignment(other, "Quiz", now.plusHours(2));
+        Student ann = persistStudent("ann", course);
+        Student bob = persistStudent("bob", course);
+        persistStudent("cid", course);
+        persistStudent("dan", other);
+        entityManager.persist(Enrollment.builder().course(other).student(ann).build());
+        persistSubmission(bob, dueTomorrow);
+        persistSubmission(ann, otherDue);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int sent = deadlineSchedulerService.sendReminders(now, now.plusDays(1));
+
+        assertEquals(3, sent);
+        // Two chunks of students, each one id query and one recipient query
+        assertEquals(4, statistics.getPrepareStatementCount());
+        verify(emailService).sendDeadlineDigest(eq("ann@university.edu"), eq("ann"), eq(List.of(
+                item(otherQuiz), item(dueTomorrow))));
+        verify(emailService).sendDeadlineDigest(eq("cid@university.edu"), eq("cid"), eq(List.of(item(dueTomorrow))));
+        verify(emailService).sendDeadlineDigest(eq("dan@university.edu"), eq("dan"), eq(List.of(
+                item(otherQuiz), item(otherDue))));
+        verify(emailService, never()).sendDeadlineDigest(eq("bob@university.edu"), any(), any());
+    }
+
+    private static EmailService.DeadlineItem item(Assignment assignment) {
+        return new EmailService.DeadlineItem(assignment.getTitle(),
+                assignment.getDeadline().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
+
+    private Course persistCourse(String code) {
+        return entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+    }
+
+    private Assignment persistAssignment(Course course, String title, LocalDateTime deadline) {
+        return entityManager.persist(Assignment.builder()
+                .course(course)
+                .title(course.getCode() + " " + title)
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(deadline)
+                .maxPoints(10)
+                .build());
+    }
+
+    private Student persistStudent(String name, Course course) {
+        Student student = entityManager.persist(Student.builder().email(name + "@university.edu").name(name).build());
+        entityManager.persist(Enrollment.builder().course(course).student(student).build());
+        return student;
+    }
+
+    private void persistSubmission(Student student, Assignment assignment) {
+        entityManager.persist(Submission.builder()
+                .student(student)
+                .assignment(assignment)
+                .submittedAt(LocalDateTime.now())
+                .points(10)
+                .build());
+    }
+}
@@ -0,0 +1,103 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.EmailOutbox;
+import com.university.coursemanagement.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(EmailOutboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private FakeSmtpServer smtpServer;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        smtpServer = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(outboxService, mailSender, meterRegistry,
+                "noreply@university.edu", 10, 5, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpServer.close();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void testDispatchBatch_SendsOverOneConnectionAndRetriesBounces() {
+        EmailOutbox ann = outboxService.enqueue("ann@university.edu", "Reminder", "Lab 1 is due");
+        EmailOutbox bounce = outboxService.enqueue("bounce@university.edu", "Reminder", "Lab 1 is due");
+        EmailOutbox bob = outboxService.enqueue("bob@university.edu", "Reminder", "Lab 1 is due");
+        assertEquals(3, meterRegistry.get("email.outbox.depth").gauge().value());
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        assertEquals(List.of("ann@university.edu", "bob@university.edu"), smtpServer.getDelivered());
+        assertEquals(1, smtpServer.getConnections());
+        assertEquals(EmailOutbox.Status.SENT, outboxRepository.findById(ann.getId()).orElseThrow().getStatus());
+        assertEquals(EmailOutbox.Status.SENT, outboxRepository.findById(bob.getId()).orElseThrow().getStatus());
+
+        EmailOutbox retried = outboxRepository.findById(bounce.getId()).orElseThrow();
+        assertEquals(EmailOutbox.Status.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNull(retried.getClaimToken());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertNotNull(retried.getLastError());
+
+        assertEquals(2, meterRegistry.get("email.outbox.sent").counter().count());
+        assertEquals(1, meterRegistry.get("email.outbox.retried").counter().count());
+        assertEquals(1, meterRegistry.get("email.outbox.depth").gauge().value());
+        assertEquals(2, meterRegistry.get("email.outbox.delivery.latency").timer().count());
+
+        // The bounce is backing off, so nothing is due right now
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertEquals(1, smtpServer.getConnections());
+    }
+
+    @Test
+    void testClaim_ExpiredLeasesCountAsAttempts() {
+        EmailOutbox crashing = outboxService.enqueue("crash@university.edu", "Reminder", "Lab 1 is due");
+
+        // A dispatcher that dies mid-send never reports back; its lease expires straight away
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            List<EmailOutbox> claimed = outboxService.claim(10, Duration.ZERO);
+            assertEquals(1, claimed.size());
+            assertEquals(attempt, claimed.get(0).getAttempts());
+        }
+
+        assertTrue(outboxService.claim(10, Duration.ZERO).isEmpty());
+        EmailOutbox failed = outboxRepository.findById(crashing.getId()).orElseThrow();
+        assertEquals(EmailOutbox.Status.FAILED, failed.getStatus());
+        assertEquals(5, failed.getAttempts());
+        assertNull(failed.getClaimToken());
+        assertEquals(0, outboxService.queueDepth());
+    }
+}
@@ -0,0 +1,155 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.dto.AssignmentDTO;
+import com.university.coursemanagement.dto.CourseFormulaDto;
+import com.university.coursemanagement.dto.KeysetPage;
+import com.university.coursemanagement.entity.*;
+import com.university.coursemanagement.repository.AssignmentRepository;
+import com.university.coursemanagement.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CacheConfig.class, AssignmentService.class, CoursesService.class, CourseService.class, GradingFormulaService.class,
+        GradeBookSummaryService.class, GradeBookAssembler.class, ColumnarGradeBookCache.class, CourseVersionService.class,
+        PenaltyDeadlineIndex.class, CoursePageRefresher.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        assignmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void testCourseAndAssignmentsServedFromCacheAndInvalidatedOnWrites() {
+        Long courseId = transactionTemplate.execute(status -> courseRepository.save(Course.builder()
+                .code("CS1701")
+                .name("Caching")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build()).getId());
+        saveLab(courseId, "Lab 1");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertEquals(List.of("Lab 1"), assignmentTitles(courseId));
+        statistics.clear();
+        assertEquals(List.of("Lab 1"), assignmentTitles(courseId));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, region(statistics, "course").getHitCount());
+        assertEquals(1, region(statistics, "course.assignments").getHitCount());
+        assertEquals(1, region(statistics, "assignment").getHitCount());
+
+        // Only the owning side is set; the cached course.assignments collection must still be evicted
+        Long lab2Id = saveLab(courseId, "Lab 2");
+        assertEquals(List.of("Lab 1", "Lab 2"), assignmentTitles(courseId));
+
+        AssignmentDTO lab2 = assignmentService.getAssignmentById(lab2Id);
+        lab2.setTitle("Lab 2 (revised)");
+        assignmentService.updateAssignment(lab2Id, lab2);
+        assertEquals(List.of("Lab 1", "Lab 2 (revised)"), assignmentTitles(courseId));
+
+        assignmentService.deleteAssignment(lab2Id);
+        assertEquals(List.of("Lab 1"), assignmentTitles(courseId));
+
+        coursesService.setFormula(courseId, new CourseFormulaDto(5, 8, 60));
+        assertEquals(5, coursesService.findById(courseId).getFormula().getNumberOfLabs());
+    }
+
+    @Test
+    void testAssignmentsOfCourseCachedUntilAnAssignmentChanges() {
+        Long courseId = transactionTemplate.execute(status -> courseRepository.save(Course.builder()
+                .code("CS1702")
+                .name("Application caches")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build()).getId());
+        Long lab1Id = saveLab(courseId, "Lab 1");
+        Long lab2Id = saveLab(courseId, "Lab 2");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertEquals(lab1Id, assignmentService.getAssignmentsByCourseId(courseId, null, 1).getNextCursor());
+        statistics.clear();
+        KeysetPage<AssignmentDTO> second = assignmentService.getAssignmentsByCourseId(courseId, lab1Id, 1);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(List.of(lab2Id), second.getItems().stream().map(AssignmentDTO::getId).collect(Collectors.toList()));
+        assertNull(second.getNextCursor());
+
+        AssignmentDTO lab2 = assignmentService.getAssignmentById(lab2Id);
+        lab2.setTitle("Lab 2 (revised)");
+        assignmentService.updateAssignment(lab2Id, lab2);
+        assertEquals("Lab 2 (revised)", assignmentService.getAssignmentsByCourseId(courseId, lab1Id, 1).getItems().get(0).getTitle());
+
+        assignmentService.deleteAssignment(lab1Id);
+        assertEquals(List.of(lab2Id), assignmentService.getAssignmentsByCourseId(courseId, null, 10).getItems().stream()
+                .map(AssignmentDTO::getId)
+                .collect(Collectors.toList()));
+    }
+
+    private Long saveLab(Long courseId, String title) {
+        return transactionTemplate.execute(status -> assignmentRepository.save(Assignment.builder()
+                .course(courseRepository.getReferenceById(courseId))
+                .title(title)
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build()).getId());
+    }
+
+    private List<String> assignmentTitles(Long courseId) {
+        return transactionTemplate.execute(status -> entityManager.find(Course.class, courseId).getAssignments().stream()
+                .map(Assignment::getTitle)
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    private static CacheRegionStatistics region(Statistics statistics, String region) {
+        return statistics.getDomainDataRegionStatistics(region);
+    }
+}
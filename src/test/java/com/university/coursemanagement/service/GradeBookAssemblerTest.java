@@ -0,0 +1,131 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(GradeBookAssembler.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class GradeBookAssemblerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GradeBookAssembler assembler;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testAssemble_BuildsTotalsAndIgnoresOtherCourses() {
+        Course course = seedCourse("CS101", 1);
+        Course other = seedCourse("CS102", 0);
+        Student student = entityManager.getEntityManager()
+                .createQuery("SELECT e.student FROM Enrollment e WHERE e.course.id = :id", Student.class)
+                .setParameter("id", course.getId())
+                .getSingleResult();
+        Assignment foreign = persistAssignment(other, "Foreign lab");
+        persistGrade(student, foreign, null, 10);
+        entityManager.flush();
+        entityManager.clear();
+
+        GradeBookDTO gradeBook = assembler.assemble(entityManager.find(Course.class, course.getId()));
+
+        assertEquals("CS101", gradeBook.getCourseCode());
+        assertEquals(1, gradeBook.getStudentGrades().size());
+        GradeBookDTO.StudentGradeDTO row = gradeBook.getStudentGrades().get(0);
+        assertEquals(2, row.getAssignmentGrades().size());
+        assertNotNull(row.getExamGrade());
+        assertEquals(8 + 9 + 55, row.getTotalPoints());
+        assertEquals("C", row.getFinalGrade());
+    }
+
+    @Test
+    void testAssemble_StatementCountIndependentOfEnrollment() {
+        long smallCourseStatements = countStatements(seedCourse("CS201", 5));
+        long largeCourseStatements = countStatements(seedCourse("CS202", 120));
+
+        assertEquals(smallCourseStatements, largeCourseStatements);
+        assertTrue(largeCourseStatements <= 3, "Expected at most 3 statements but was " + largeCourseStatements);
+    }
+
+    private long countStatements(Course course) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        GradeBookDTO gradeBook = assembler.assemble(entityManager.find(Course.class, course.getId()));
+        gradeBook.getStudentGrades().forEach(row -> row.getAssignmentGrades().size());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Course seedCourse(String code, int studentCount) {
+        Course course = entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment lab1 = persistAssignment(course, "Lab 1");
+        Assignment lab2 = persistAssignment(course, "Lab 2");
+        Exam exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+
+        for (int i = 0; i < studentCount; i++) {
+            Student student = entityManager.persist(Student.builder()
+                    .email(code + "-student" + i + "@university.edu")
+                    .name("Student " + i)
+                    .build());
+            entityManager.persist(Enrollment.builder().course(course).student(student).build());
+            persistGrade(student, lab1, null, 8);
+            persistGrade(student, lab2, null, 9);
+            persistGrade(student, null, exam, 55);
+        }
+        return course;
+    }
+
+    private Assignment persistAssignment(Course course, String title) {
+        return entityManager.persist(Assignment.builder()
+                .course(course)
+                .title(title)
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+    }
+
+    private void persistGrade(Student student, Assignment assignment, Exam exam, int points) {
+        entityManager.persist(Grade.builder()
+                .student(student)
+                .assignment(assignment)
+                .exam(exam)
+                .points(points)
+                .build());
+    }
+}
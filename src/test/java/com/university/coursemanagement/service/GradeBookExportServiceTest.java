@@ -0,0 +1,111 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({GradeBookExportService.class, GradeBookSummaryService.class, GradeBookAssembler.class, JacksonAutoConfiguration.class})
+class GradeBookExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeBookExportService exportService;
+
+    @Autowired
+    private GradeBookSummaryService summaryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Student ann;
+    private Student bob;
+    private Exam exam;
+
+    @Test
+    void testExportCsv_WritesHeaderAndOneLinePerStudent() throws Exception {
+        Course course = seedCourse();
+
+        String[] lines = export(course, GradeBookExportService.Format.CSV).split("\r\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("student_id,student_name,email,Lab 1 points,Lab 1 late,Lab 1 penalty,"
+                + "exam_id,exam_title,exam_points,total_points,final_grade", lines[0]);
+        assertEquals(ann.getId() + ",\"Smith, Ann\",ann@university.edu,9,false,0,"
+                + exam.getId() + ",Final,58,67,D", lines[1]);
+        assertEquals(bob.getId() + ",Bob,bob@university.edu,,,,,,,0,F", lines[2]);
+    }
+
+    @Test
+    void testExportNdjson_MatchesGradeBookRows() throws Exception {
+        Course course = seedCourse();
+        GradeBookDTO gradeBook = summaryService.getGradeBook(course);
+
+        String[] lines = export(course, GradeBookExportService.Format.NDJSON).split("\n");
+
+        assertEquals(gradeBook.getStudentGrades().size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(gradeBook.getStudentGrades().get(i),
+                    objectMapper.readValue(lines[i], GradeBookDTO.StudentGradeDTO.class));
+        }
+    }
+
+    @Test
+    void testFormat_RejectsUnknownValue() {
+        assertEquals(GradeBookExportService.Format.NDJSON, GradeBookExportService.Format.from("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> GradeBookExportService.Format.from("xlsx"));
+    }
+
+    private String export(Course course, GradeBookExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(course.getId(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Course seedCourse() {
+        Course course = entityManager.persist(Course.builder()
+                .code("CS401")
+                .name("Compilers")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment lab = entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab 1")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+        exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+        ann = entityManager.persist(Student.builder().email("ann@university.edu").name("Smith, Ann").build());
+        bob = entityManager.persist(Student.builder().email("bob@university.edu").name("Bob").build());
+        entityManager.persist(Enrollment.builder().course(course).student(ann).build());
+        entityManager.persist(Enrollment.builder().course(course).student(bob).build());
+        entityManager.persist(Grade.builder().student(ann).assignment(lab).points(9).isLate(false).penaltyApplied(0).build());
+        entityManager.persist(Grade.builder().student(ann).exam(exam).points(58).build());
+        entityManager.flush();
+
+        summaryService.rebuild(course.getId());
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Course.class, course.getId());
+    }
+}
@@ -0,0 +1,111 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeBookDTO;
+import com.university.coursemanagement.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({GradeBookSummaryService.class, GradeBookAssembler.class})
+class GradeBookSummaryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeBookSummaryService summaryService;
+
+    @Autowired
+    private GradeBookAssembler assembler;
+
+    @Test
+    void testRebuild_MatchesAssembledGradeBook() {
+        Course course = seedCourse();
+        summaryService.rebuild(course.getId());
+        flushAndClear();
+
+        Course reloaded = entityManager.find(Course.class, course.getId());
+        assertEquals(assembler.assemble(reloaded), summaryService.getGradeBook(reloaded));
+    }
+
+    @Test
+    void testRefresh_AppliesNewGrade() {
+        Course course = seedCourse();
+        summaryService.rebuild(course.getId());
+        Student student = entityManager.persist(Student.builder().email("new@university.edu").name("New Student").build());
+        entityManager.persist(Enrollment.builder().course(course).student(student).build());
+        Assignment lab = entityManager.getEntityManager()
+                .createQuery("SELECT a FROM Assignment a WHERE a.course.id = :id", Assignment.class)
+                .setParameter("id", course.getId())
+                .getSingleResult();
+        entityManager.persist(Grade.builder().student(student).assignment(lab).points(7).isLate(true).build());
+
+        summaryService.refresh(course.getId(), student.getId());
+        flushAndClear();
+
+        GradeBookSummary summary = summaryService.getSummaries(course.getId()).stream()
+                .filter(row -> row.getStudent().getId().equals(student.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(7, summary.getTotalPoints());
+        assertEquals(1, summary.getLateCount());
+        assertEquals("F", summary.getFinalGrade());
+        assertEquals(1, summary.getAssignmentCells().size());
+    }
+
+    @Test
+    void testRefresh_RemovesRowOfUnenrolledStudent() {
+        Course course = seedCourse();
+        summaryService.rebuild(course.getId());
+        Enrollment enrollment = entityManager.getEntityManager()
+                .createQuery("SELECT e FROM Enrollment e WHERE e.course.id = :id", Enrollment.class)
+                .setParameter("id", course.getId())
+                .getSingleResult();
+        Long studentId = enrollment.getStudent().getId();
+        entityManager.remove(enrollment);
+
+        summaryService.refresh(course.getId(), studentId);
+        flushAndClear();
+
+        assertTrue(summaryService.getSummaries(course.getId()).isEmpty());
+    }
+
+    private Course seedCourse() {
+        Course course = entityManager.persist(Course.builder()
+                .code("CS301")
+                .name("Databases")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment lab = entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab 1")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+        Exam exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+        Student student = entityManager.persist(Student.builder().email("ann@university.edu").name("Ann").build());
+        entityManager.persist(Enrollment.builder().course(course).student(student).build());
+        entityManager.persist(Grade.builder().student(student).assignment(lab).points(9).build());
+        entityManager.persist(Grade.builder().student(student).exam(exam).points(58).build());
+        flushAndClear();
+        return entityManager.find(Course.class, course.getId());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,134 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.config.CacheConfig;
+import com.university.coursemanagement.dto.GradeDTO;
+import com.university.coursemanagement.dto.KeysetPage;
+import com.university.coursemanagement.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({GradeService.class, ColumnarGradeBookCache.class, CourseVersionService.class, GradeBookSummaryService.class,
+        GradeBookAssembler.class, StudentService.class, AssignmentService.class, PenaltyDeadlineIndex.class, ExamService.class,
+        CourseService.class, GradingFormulaService.class, CacheConfig.class,
+        CoursePageRefresher.class})
+class GradeServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private ExamService examService;
+
+    @Autowired
+    private GradeBookSummaryService summaryService;
+
+    @Test
+    void testGetGradesByCourseId_WalksPagesByCursor() {
+        Course course = persistCourse("CS801");
+        Course other = persistCourse("CS802");
+        Assignment lab = persistAssignment(course);
+        Assignment foreignLab = persistAssignment(other);
+        Exam exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Student student = entityManager.persist(Student.builder()
+                    .email("student" + i + "@university.edu")
+                    .name("Student " + i)
+                    .build());
+            expected.add(entityManager.persist(Grade.builder().student(student).assignment(lab).points(i).build()).getId());
+            entityManager.persist(Grade.builder().student(student).assignment(foreignLab).points(i).build());
+            if (i == 2) {
+                // Exam grades interleave with assignment grades in id order
+                expected.add(entityManager.persist(Grade.builder().student(student).exam(exam).points(40).build()).getId());
+            }
+        }
+        Student last = entityManager.persist(Student.builder().email("last@university.edu").name("Last").build());
+        expected.add(entityManager.persist(Grade.builder().student(last).exam(exam).points(50).build()).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        Long after = null;
+        int pages = 0;
+        do {
+            KeysetPage<GradeDTO> page = gradeService.getGradesByCourseId(course.getId(), after, 4);
+            page.getItems().forEach(grade -> seen.add(grade.getId()));
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(expected, seen);
+        assertEquals(2, pages);
+        assertThrows(IllegalArgumentException.class, () -> gradeService.getGradesByCourseId(course.getId(), null, 0));
+    }
+
+    @Test
+    void testDeleteExam_RemovesExamPointsFromGradeBookSummaries() {
+        Course course = persistCourse("CS803");
+        Assignment lab = persistAssignment(course);
+        Exam exam = entityManager.persist(Exam.builder()
+                .course(course)
+                .title("Final")
+                .maxPoints(60)
+                .examDate(LocalDateTime.now().plusDays(30))
+                .build());
+        Student student = entityManager.persist(Student.builder().email("exam@university.edu").name("Exam").build());
+        entityManager.persist(Enrollment.builder().course(course).student(student).build());
+        entityManager.persist(Grade.builder().student(student).assignment(lab).points(9).build());
+        entityManager.persist(Grade.builder().student(student).exam(exam).points(55).build());
+        entityManager.flush();
+        summaryService.rebuild(course.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(64, summaryService.getSummaries(course.getId()).get(0).getTotalPoints());
+
+        examService.deleteExam(exam.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        GradeBookSummary summary = summaryService.getSummaries(course.getId()).get(0);
+        assertNull(summary.getExamId());
+        assertNull(summary.getExamPoints());
+        assertEquals(9, summary.getTotalPoints());
+        assertEquals("F", summary.getFinalGrade());
+        assertNull(summaryService.getGradeBook(entityManager.find(Course.class, course.getId()))
+                .getStudentGrades().get(0).getExamGrade());
+    }
+
+    private Course persistCourse(String code) {
+        return entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+    }
+
+    private Assignment persistAssignment(Course course) {
+        return entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+    }
+}
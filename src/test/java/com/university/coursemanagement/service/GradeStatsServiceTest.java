@@ -0,0 +1,116 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.GradeStatsDTO;
+import com.university.coursemanagement.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({GradeStatsService.class, ColumnarGradeBookCache.class, GradeBookSummaryService.class, GradeBookAssembler.class})
+class GradeStatsServiceTest {
+
+    private static final int[] LAB_POINTS = {2, 4, 6, 7, 8, 9, 10, 10};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GradeStatsService statsService;
+
+    @Autowired
+    private GradeBookSummaryService summaryService;
+
+    @Test
+    void testAssignmentStats_ComputesDistributionAndLateness() {
+        Assignment lab = seedCourse();
+
+        GradeStatsDTO stats = statsService.getAssignmentStats(lab.getId());
+
+        assertEquals(GradeStatsDTO.Scope.ASSIGNMENT, stats.getScope());
+        assertEquals(8, stats.getCount());
+        assertEquals(7.0, stats.getAverage(), 1e-9);
+        assertEquals(7.5, stats.getMedian(), 1e-9);
+        assertEquals(3.4, stats.getP10(), 1e-9);
+        assertEquals(10.0, stats.getP90(), 1e-9);
+        assertEquals(2, stats.getMin());
+        assertEquals(10, stats.getMax());
+        assertEquals(10, stats.getHistogram().size());
+        assertEquals(10, stats.getHistogram().get(9).getTo());
+        assertEquals(3, stats.getHistogram().get(9).getCount());
+        assertEquals(2, stats.getLateGrades());
+        assertEquals(0.25, stats.getLateGradeRatio(), 1e-9);
+        assertEquals(3, stats.getGradePenaltyPoints());
+        assertEquals(2, stats.getSubmissions());
+        assertEquals(1, stats.getLateSubmissions());
+        assertEquals(1, stats.getPenalizedSubmissions());
+    }
+
+    @Test
+    void testCourseStats_UsesStudentTotals() {
+        Assignment lab = seedCourse();
+
+        GradeStatsDTO stats = statsService.getCourseStats(lab.getCourse().getId());
+
+        assertEquals(GradeStatsDTO.Scope.COURSE, stats.getScope());
+        assertEquals(100, stats.getMaxPoints());
+        assertEquals(8, stats.getCount());
+        assertEquals(7.0, stats.getAverage(), 1e-9);
+        assertEquals(8L, stats.getLetterGrades().get("F"));
+        assertEquals(8, stats.getGrades());
+        assertEquals(10, stats.getHistogram().size());
+        assertEquals(8, stats.getHistogram().get(0).getCount() + stats.getHistogram().get(1).getCount());
+    }
+
+    private Assignment seedCourse() {
+        Course course = entityManager.persist(Course.builder()
+                .code("CS701")
+                .name("Statistics")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        LocalDateTime deadline = LocalDateTime.now().minusDays(1);
+        Assignment lab = entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab 1")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(deadline)
+                .maxPoints(10)
+                .build());
+
+        for (int i = 0; i < LAB_POINTS.length; i++) {
+            Student student = entityManager.persist(Student.builder()
+                    .email("student" + i + "@university.edu")
+                    .name("Student " + i)
+                    .build());
+            entityManager.persist(Enrollment.builder().course(course).student(student).build());
+            boolean late = i < 2;
+            entityManager.persist(Grade.builder()
+                    .student(student)
+                    .assignment(lab)
+                    .points(LAB_POINTS[i])
+                    .isLate(late)
+                    .penaltyApplied(late ? i + 1 : 0)
+                    .build());
+            if (i < 2) {
+                entityManager.persist(Submission.builder()
+                        .student(student)
+                        .assignment(lab)
+                        .points(LAB_POINTS[i])
+                        .submittedAt(late && i == 0 ? deadline.plusHours(5) : deadline.minusHours(5))
+                        .penaltyApplied(i == 0)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        summaryService.rebuild(course.getId());
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Assignment.class, lab.getId());
+    }
+}
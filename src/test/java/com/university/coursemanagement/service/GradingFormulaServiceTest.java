@@ -30,6 +30,9 @@ class GradingFormulaServiceTest {
     @Mock
     private CourseService courseService;
 
+    @Mock
+    private CourseVersionService courseVersionService;
+
     @InjectMocks
     private GradingFormulaService formulaService;
 
@@ -0,0 +1,59 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLeaseServiceTest {
+
+    private static final String JOB = "reminders";
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @AfterEach
+    void tearDown() {
+        leaseRepository.deleteAll();
+    }
+
+    @Test
+    void testRunExclusively_OneNodePerTickUntilLeaseExpires() {
+        JobLeaseService first = new JobLeaseService(leaseRepository, "node-1");
+        JobLeaseService second = new JobLeaseService(leaseRepository, "node-2");
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(first.runExclusively(JOB, Duration.ofMinutes(10), Duration.ofHours(1), runs::incrementAndGet));
+        // The first run finished, but the lease is held for at least ten minutes
+        assertFalse(second.runExclusively(JOB, Duration.ofMinutes(10), Duration.ofHours(1), runs::incrementAndGet));
+        assertEquals(1, runs.get());
+        assertEquals("node-1", leaseRepository.findById(JOB).orElseThrow().getOwner());
+
+        // node-1 died holding the lease; node-2 takes over once it has expired
+        LocalDateTime later = LocalDateTime.now().plusMinutes(11);
+        assertTrue(second.tryAcquire(JOB, later, Duration.ofHours(1)));
+        assertFalse(first.tryAcquire(JOB, later, Duration.ofHours(1)));
+        assertEquals("node-2", leaseRepository.findById(JOB).orElseThrow().getOwner());
+    }
+
+    @Test
+    void testRunExclusively_ReleasesShortLeaseAfterRun() {
+        JobLeaseService first = new JobLeaseService(leaseRepository, "node-1");
+        JobLeaseService second = new JobLeaseService(leaseRepository, "node-2");
+
+        assertThrows(IllegalStateException.class, () -> first.runExclusively(JOB, Duration.ZERO, Duration.ofHours(1),
+                () -> { throw new IllegalStateException("boom"); }));
+        assertTrue(second.runExclusively(JOB, Duration.ZERO, Duration.ofHours(1), () -> { }));
+    }
+}
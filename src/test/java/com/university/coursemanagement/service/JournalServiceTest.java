@@ -0,0 +1,124 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.dto.JournalDTO;
+import com.university.coursemanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({JournalService.class, CoursesService.class, CourseVersionService.class, ColumnarGradeBookCache.class,
+        GradeBookSummaryService.class, GradeBookAssembler.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JournalServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JournalService journalService;
+
+    @Test
+    void testGetJournal_SumsCourseSubmissionsPerStudent() {
+        Course course = persistCourse("CS501");
+        Course other = persistCourse("CS502");
+        Assignment lab1 = persistAssignment(course);
+        Assignment lab2 = persistAssignment(course);
+        Assignment foreign = persistAssignment(other);
+        Student ann = persistStudent("ann", course);
+        Student bob = persistStudent("bob", course);
+        persistSubmission(ann, lab1, 8);
+        persistSubmission(ann, lab2, 9);
+        persistSubmission(ann, foreign, 10);
+        flushAndClear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JournalDTO journal = journalService.getJournal(course.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals("CS501", journal.getCourseCode());
+        assertNull(journal.getPage());
+        List<JournalDTO.JournalEntryDTO> entries = journal.getJournal();
+        assertEquals(2, entries.size());
+        assertEquals(ann.getId(), entries.get(0).getStudentId());
+        assertEquals(2L, entries.get(0).getSubmissionCount());
+        assertEquals(17L, entries.get(0).getTotalPoints());
+        assertEquals(bob.getId(), entries.get(1).getStudentId());
+        assertEquals(0L, entries.get(1).getSubmissionCount());
+        assertEquals(0L, entries.get(1).getTotalPoints());
+    }
+
+    @Test
+    void testGetJournal_PagesThroughEnrolledStudents() {
+        Course course = persistCourse("CS503");
+        Assignment lab = persistAssignment(course);
+        for (int i = 0; i < 5; i++) {
+            persistSubmission(persistStudent("student" + i, course), lab, i);
+        }
+        flushAndClear();
+
+        JournalDTO lastPage = journalService.getJournal(course.getId(), 2, 2);
+
+        assertEquals(1, lastPage.getJournal().size());
+        assertEquals(4L, lastPage.getJournal().get(0).getTotalPoints());
+        assertEquals(5L, lastPage.getTotalElements());
+        assertEquals(3, lastPage.getTotalPages());
+        assertThrows(IllegalArgumentException.class, () -> journalService.getJournal(course.getId(), 0, 0));
+    }
+
+    private Course persistCourse(String code) {
+        return entityManager.persist(Course.builder()
+                .code(code)
+                .name("Course " + code)
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+    }
+
+    private Assignment persistAssignment(Course course) {
+        return entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(LocalDateTime.now().plusDays(7))
+                .maxPoints(10)
+                .build());
+    }
+
+    private Student persistStudent(String name, Course course) {
+        Student student = entityManager.persist(Student.builder()
+                .email(name + "@" + course.getCode() + ".university.edu")
+                .name(name)
+                .build());
+        entityManager.persist(Enrollment.builder().course(course).student(student).build());
+        return student;
+    }
+
+    private void persistSubmission(Student student, Assignment assignment, int points) {
+        entityManager.persist(Submission.builder()
+                .student(student)
+                .assignment(assignment)
+                .points(points)
+                .submittedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
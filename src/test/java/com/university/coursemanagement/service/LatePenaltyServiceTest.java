@@ -0,0 +1,99 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(LatePenaltyService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LatePenaltyServiceTest {
+
+    private static final int SUBMISSIONS = 100_000;
+    private static final int MINUTES_APART = 7;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LatePenaltyService latePenaltyService;
+
+    @Test
+    void testApplyLatePenalties_UpdatesHundredThousandRowsInOneStatement() {
+        LocalDateTime deadline = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Course course = entityManager.persist(Course.builder()
+                .code("CS1001")
+                .name("Throughput")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment assignment = entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(deadline)
+                .maxPoints(10)
+                .penaltyPerDay(2)
+                .build());
+        Student student = entityManager.persist(Student.builder().email("bulk@university.edu").name("Bulk").build());
+        entityManager.flush();
+
+        // Submission x arrives x * 7 minutes after the deadline
+        entityManager.getEntityManager().createNativeQuery(
+                        "INSERT INTO submissions (student_id, assignment_id, submitted_at, points, penalty_applied) " +
+                        "SELECT CAST(?1 AS BIGINT), CAST(?2 AS BIGINT), " +
+                        "DATEADD('MINUTE', X * " + MINUTES_APART + ", CAST(?3 AS TIMESTAMP)), 10, FALSE " +
+                        "FROM SYSTEM_RANGE(1, " + SUBMISSIONS + ")")
+                .setParameter(1, student.getId())
+                .setParameter(2, assignment.getId())
+                .setParameter(3, deadline)
+                .executeUpdate();
+        int underOneDay = (24 * 60 - 1) / MINUTES_APART;
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long started = System.nanoTime();
+        int penalized = latePenaltyService.applyLatePenalties(assignment, "run-1");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertEquals(SUBMISSIONS - underOneDay, penalized);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // Loose bound for slow CI machines; one UPDATE does the work 100k save() calls used to
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(30)) < 0,
+                () -> "Bulk penalty took " + elapsed + " (" + penalized * 1000L / Math.max(1, elapsed.toMillis()) + " rows/s)");
+
+        assertEquals(10, pointsOf(assignment, 200));   // 23h20m late
+        assertEquals(8, pointsOf(assignment, 300));    // 1 day 11h late
+        assertEquals(2, pointsOf(assignment, 1000));   // 4 days 20h late
+        assertEquals(0, pointsOf(assignment, 5000));   // 24 days late
+        assertEquals(penalized, ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM submissions WHERE penalty_run_id = 'run-1'")
+                .getSingleResult()).intValue());
+
+        assertEquals(0, latePenaltyService.applyLatePenalties(assignment, "run-2"));
+        assertEquals(8, pointsOf(assignment, 300));
+    }
+
+    private int pointsOf(Assignment assignment, int x) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT s.points FROM Submission s WHERE s.assignment.id = :assignmentId " +
+                        "AND s.submittedAt = :submittedAt", Integer.class)
+                .setParameter("assignmentId", assignment.getId())
+                .setParameter("submittedAt", assignment.getDeadline().plusMinutes((long) x * MINUTES_APART))
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,65 @@
+package com.university.coursemanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledJobRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledJobRunner jobRunner = new ScheduledJobRunner(meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobRunner.shutdown();
+    }
+
+    @Test
+    void testTrigger_SkipsWhileRunningWithoutBlockingOtherJobs() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+        String[] threadName = new String[1];
+
+        assertTrue(jobRunner.trigger("slow", () -> awaitQuietly(release)));
+        assertFalse(jobRunner.trigger("slow", () -> fail("overlapping run")));
+        assertTrue(jobRunner.trigger("fast", () -> {
+            threadName[0] = Thread.currentThread().getName();
+            otherRan.countDown();
+        }));
+
+        assertTrue(otherRan.await(5, TimeUnit.SECONDS), "fast job waited for the slow one");
+        assertTrue(threadName[0].startsWith("job-fast-"));
+        assertTrue(jobRunner.isRunning("slow"));
+        assertEquals(1, meterRegistry.get("scheduler.job.skipped").tag("job", "slow").counter().count());
+
+        release.countDown();
+        waitUntilIdle("slow");
+        assertTrue(jobRunner.trigger("slow", () -> { throw new IllegalStateException("boom"); }));
+        waitUntilIdle("slow");
+
+        assertEquals(2, meterRegistry.get("scheduler.job.duration").tag("job", "slow").timer().count());
+        assertEquals(2, meterRegistry.get("scheduler.job.lag").tag("job", "slow").timer().count());
+        assertEquals(1, meterRegistry.get("scheduler.job.failures").tag("job", "slow").counter().count());
+    }
+
+    private void waitUntilIdle(String job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (jobRunner.isRunning(job)) {
+            assertTrue(System.nanoTime() < deadline, job + " job did not finish");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
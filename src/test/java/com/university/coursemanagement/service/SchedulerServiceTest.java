@@ -0,0 +1,139 @@
+package com.university.coursemanagement.service;
+
+import com.university.coursemanagement.entity.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({SchedulerService.class, PenaltyDeadlineIndex.class, LatePenaltyService.class, CourseVersionService.class,
+        ColumnarGradeBookCache.class, GradeBookSummaryService.class, GradeBookAssembler.class})
+class SchedulerServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private PenaltyDeadlineIndex deadlineIndex;
+
+    @Test
+    void testHandleCron_PenalizesOnlyDueAssignmentsOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Course course = entityManager.persist(Course.builder()
+                .code("CS901")
+                .name("Deadlines")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment past = persistAssignment(course, now.minusDays(5));
+        Assignment settled = persistAssignment(course, now.minusDays(30));
+        Assignment future = persistAssignment(course, now.plusDays(2));
+        Student student = entityManager.persist(Student.builder().email("late@university.edu").name("Late").build());
+        Submission late = persistSubmission(student, past, now.minusDays(2).minusHours(1), false);
+        Submission onTime = persistSubmission(student, past, now.minusDays(6), false);
+        persistSubmission(student, settled, now.minusDays(20), true);
+        persistSubmission(student, future, now.minusHours(1), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        deadlineIndex.rebuild();
+        assertEquals(2, deadlineIndex.size());
+
+        schedulerService.handleCron();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(4, entityManager.find(Submission.class, late.getId()).getPoints());
+        assertTrue(entityManager.find(Submission.class, late.getId()).getPenaltyApplied());
+        assertEquals(10, entityManager.find(Submission.class, onTime.getId()).getPoints());
+        assertEquals(1, deadlineIndex.size());
+
+        schedulerService.handleCron();
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(4, entityManager.find(Submission.class, late.getId()).getPoints());
+    }
+
+    @Test
+    // The test transaction rolls back, which puts the polled assignment back into the shared index
+    @DirtiesContext
+    void testRebuild_SkipsAssignmentsTheJobCannotPenalize() {
+        LocalDateTime now = LocalDateTime.now();
+        Course course = entityManager.persist(Course.builder()
+                .code("CS902")
+                .name("Settled deadlines")
+                .formula(CourseFormula.builder().numberOfLabs(4).pointsPerLab(10).examPoints(60).build())
+                .build());
+        Assignment lateByDays = persistAssignment(course, now.minusDays(5));
+        Assignment lateByHours = persistAssignment(course, now.minusDays(5));
+        Assignment noPenalty = persistAssignment(course, now.minusDays(5));
+        noPenalty.setPenaltyPerDay(0);
+        Student student = entityManager.persist(Student.builder().email("hours@university.edu").name("Hours").build());
+        persistSubmission(student, lateByDays, now.minusDays(3), false);
+        Submission hoursLate = persistSubmission(student, lateByHours, now.minusDays(5).plusHours(23), false);
+        persistSubmission(student, noPenalty, now.minusDays(2), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        deadlineIndex.rebuild();
+        assertEquals(1, deadlineIndex.size());
+
+        schedulerService.handleCron();
+        entityManager.flush();
+        entityManager.clear();
+        deadlineIndex.rebuild();
+
+        assertEquals(0, deadlineIndex.size());
+        assertFalse(entityManager.find(Submission.class, hoursLate.getId()).getPenaltyApplied());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testPollDue_SkipsSupersededDeadlines() {
+        LocalDateTime now = LocalDateTime.now();
+        deadlineIndex.schedule(1L, now.minusMinutes(5));
+        deadlineIndex.schedule(2L, now.minusMinutes(3));
+        deadlineIndex.schedule(1L, now.plusDays(1));
+        deadlineIndex.schedule(3L, now.minusMinutes(10));
+        deadlineIndex.remove(3L);
+
+        assertEquals(List.of(2L), deadlineIndex.pollDue(now));
+        assertEquals(List.of(), deadlineIndex.pollDue(now));
+        assertEquals(List.of(1L), deadlineIndex.pollDue(now.plusDays(2)));
+        assertEquals(0, deadlineIndex.size());
+    }
+
+    private Assignment persistAssignment(Course course, LocalDateTime deadline) {
+        return entityManager.persist(Assignment.builder()
+                .course(course)
+                .title("Lab")
+                .type(Assignment.AssignmentType.LAB)
+                .deadline(deadline)
+                .maxPoints(10)
+                .penaltyPerDay(3)
+                .build());
+    }
+
+    private Submission persistSubmission(Student student, Assignment assignment, LocalDateTime submittedAt,
+                                         boolean penaltyApplied) {
+        return entityManager.persist(Submission.builder()
+                .student(student)
+                .assignment(assignment)
+                .submittedAt(submittedAt)
+                .points(10)
+                .penaltyApplied(penaltyApplied)
+                .build());
+    }
+}
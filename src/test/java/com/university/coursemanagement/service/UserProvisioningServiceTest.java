@@ -0,0 +1,116 @@
+package com.university.coursemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.coursemanagement.dto.BulkRegistrationDTO;
+import com.university.coursemanagement.entity.User;
+import com.university.coursemanagement.entity.UserRole;
+import com.university.coursemanagement.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.university.coursemanagement.dto.BulkRegistrationDTO.Status.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserProvisioningServiceTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UserProvisioningService provisioningService;
+
+    @BeforeEach
+    void setUp() {
+        provisioningService = new UserProvisioningService(userRepository, passwordEncoder, new JdbcTemplate(dataSource),
+                transactionTemplate, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), 3, 2);
+        userRepository.save(User.builder()
+                .username("existing")
+                .password("x")
+                .email("existing@university.edu")
+                .role(UserRole.STUDENT)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        provisioningService.shutdown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvRowsCreatedInChunksWithPerRowResults() throws IOException {
+        String csv = "username,password,email,role\n"
+                + "alice,secret1,alice@university.edu,student\n"
+                + "bob,\"se,cret\",bob@university.edu,INSTRUCTOR\n"
+                + "alice,secret3,alice2@university.edu,\n"
+                + "existing,secret4,new@university.edu,\n"
+                + "carol,secret5,not-an-email,\n"
+                + "dave,secret6,dave@university.edu,ROOT\n"
+                + "erin,secret7\n"
+                + "\n"
+                + "frank,secret8,frank@university.edu,\n";
+
+        BulkRegistrationDTO result = provisioningService.provision(stream(csv), UserProvisioningService.Format.CSV);
+
+        assertEquals(List.of(CREATED, CREATED, DUPLICATE, DUPLICATE, INVALID, INVALID, INVALID, CREATED), statuses(result));
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), result.getResults().stream()
+                .map(BulkRegistrationDTO.RowResultDTO::getRow)
+                .collect(Collectors.toList()));
+        assertEquals(3, result.getCreated());
+        assertEquals(5, result.getFailed());
+        assertEquals("Username already exists", result.getResults().get(3).getMessage());
+        assertEquals("Unknown role: ROOT", result.getResults().get(5).getMessage());
+
+        User bob = userRepository.findByUsername("bob").orElseThrow();
+        assertEquals(UserRole.INSTRUCTOR, bob.getRole());
+        assertTrue(bob.getEnabled());
+        assertTrue(passwordEncoder.matches("se,cret", bob.getPassword()));
+        assertEquals(4, userRepository.count());
+    }
+
+    @Test
+    void testJsonStreamKeepsRowsBeforeMalformedInput() throws IOException {
+        String json = "[{\"username\":\"gina\",\"password\":\"secret\",\"email\":\"gina@university.edu\"},"
+                + "{\"username\":\"gina\",\"password\":\"secret\",\"email\":\"gina2@university.edu\"},"
+                + "{\"username\":";
+
+        BulkRegistrationDTO result = provisioningService.provision(stream(json), UserProvisioningService.Format.JSON);
+
+        assertEquals(List.of(CREATED, DUPLICATE, INVALID), statuses(result));
+        assertTrue(result.getResults().get(2).getMessage().startsWith("Malformed input"));
+        assertEquals(UserRole.STUDENT, userRepository.findByUsername("gina").orElseThrow().getRole());
+    }
+
+    private static List<BulkRegistrationDTO.Status> statuses(BulkRegistrationDTO result) {
+        return result.getResults().stream().map(BulkRegistrationDTO.RowResultDTO::getStatus).collect(Collectors.toList());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}